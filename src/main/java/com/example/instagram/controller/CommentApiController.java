@@ -0,0 +1,41 @@
+package com.example.instagram.controller;
+
+import com.example.instagram.dto.request.Cursor;
+import com.example.instagram.dto.response.CommentResponse;
+import com.example.instagram.dto.response.CursorSlice;
+import com.example.instagram.service.CommentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/posts/{id}/comments")
+@RequiredArgsConstructor
+public class CommentApiController {
+
+    private final CommentService commentService;
+
+    // 최신순 댓글 (cursor 가 비어 있으면 첫 페이지)
+    @GetMapping
+    public CursorSlice<CommentResponse> getComments(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return commentService.getComments(id, Cursor.decode(cursor), size);
+    }
+
+    // 스레드 답글 (after: 마지막으로 받은 답글 순번)
+    @GetMapping("/{commentId}/replies")
+    public CursorSlice<CommentResponse> getReplies(
+            @PathVariable Long id,
+            @PathVariable Long commentId,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return commentService.getReplies(id, commentId, after, size);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.instagram.controller;
+
+import com.example.instagram.dto.response.LikeResponse;
+import com.example.instagram.dto.response.UserResponse;
+import com.example.instagram.security.CustomUserDetails;
+import com.example.instagram.service.LikeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// 좋아요 상태 지정 API (PUT: 좋아요, DELETE: 취소) - 여러 번 호출해도 결과가 같다
+@RestController
+@RequestMapping("/api/posts/{id}/like")
+@RequiredArgsConstructor
+public class LikeApiController {
+
+    private final LikeService likeService;
+
+    // 팔로우 중인 사람 중 좋아요 누른 사용자
+    @GetMapping("/following")
+    public List<UserResponse> getFollowingLikers(
+            @PathVariable Long id,
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(defaultValue = "3") int size
+    ) {
+        return likeService.getFollowingLikers(id, userDetails.getId(), Math.max(1, Math.min(size, 50)));
+    }
+
+    @PutMapping
+    public LikeResponse like(
+            @PathVariable Long id,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        return likeService.like(id, userDetails.getId());
+    }
+
+    @DeleteMapping
+    public LikeResponse unlike(
+            @PathVariable Long id,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        return likeService.unlike(id, userDetails.getId());
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.instagram.controller;
+
+import com.example.instagram.service.MediaStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+// 업로드 파일 응답
+// If-None-Match 일치 시 304, Range 요청 시 206 은 ResponseEntity<Resource> 반환값 처리에서 이루어진다
+@RestController
+@RequiredArgsConstructor
+public class MediaController {
+
+    private final MediaStore mediaStore;
+
+    @GetMapping("/uploads/{fileName:.+}")
+    public ResponseEntity<Resource> getFile(@PathVariable String fileName) throws IOException {
+        return mediaStore.find(fileName)
+                .map(media -> ResponseEntity.ok()
+                        .contentType(media.mediaType())
+                        .eTag(media.etag())
+                        .cacheControl(media.cacheControl())
+                        .body(media.resource()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
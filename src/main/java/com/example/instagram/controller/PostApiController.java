@@ -1,6 +1,9 @@
 package com.example.instagram.controller;
 
 
+import com.example.instagram.dto.request.Cursor;
+import com.example.instagram.dto.request.RankedCursor;
+import com.example.instagram.dto.response.CursorSlice;
 import com.example.instagram.dto.response.PostResponse;
 import com.example.instagram.security.CustomUserDetails;
 import com.example.instagram.service.PostService;
@@ -11,6 +14,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -28,11 +32,52 @@ public class PostApiController {
         return postService.getFeedPosts(userDetails.getId(), pageable);
     }
 
+    // 랭킹 피드 (최근 후보를 점수순으로 정렬한 스냅샷, 다 읽으면 최신순)
+    @GetMapping("/feed/ranked")
+    public CursorSlice<PostResponse> getRankedFeed(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        return postService.getRankedFeedPosts(userDetails.getId(), RankedCursor.decode(cursor), size);
+    }
+
     @GetMapping("/explore")
     public Slice<PostResponse> getExplore(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
             @PageableDefault(size = 12) Pageable pageable
     ) {
-        return postService.getAllPostsPaging(pageable);
+        return postService.getTrendingPosts(pageable, userDetails.getId());
+    }
+
+    // 커서 모드: cursor 파라미터가 있으면 (빈 값이면 첫 페이지) 키셋 페이지네이션
+    @GetMapping(value = "/feed", params = "cursor")
+    public CursorSlice<PostResponse> getFeedByCursor(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        return postService.getFeedPosts(userDetails.getId(), Cursor.decode(cursor), size);
+    }
+
+    // 커서 모드는 최신순
+    @GetMapping(value = "/explore", params = "cursor")
+    public CursorSlice<PostResponse> getExploreByCursor(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "12") int size
+    ) {
+        return postService.getAllPosts(Cursor.decode(cursor), size, userDetails.getId());
+    }
+
+    // 인기순 커서 모드: 첫 요청 시점의 순위를 끝까지 읽은 뒤 최신순으로 이어감
+    @GetMapping("/explore/ranked")
+    public CursorSlice<PostResponse> getRankedExplore(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "12") int size
+    ) {
+        return postService.getTrendingPosts(RankedCursor.decode(cursor), size, userDetails.getId());
     }
 
 }
\ No newline at end of file
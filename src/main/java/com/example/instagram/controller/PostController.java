@@ -1,8 +1,10 @@
 package com.example.instagram.controller;
 
 import com.example.instagram.dto.request.CommentRequest;
+import com.example.instagram.dto.request.Cursor;
 import com.example.instagram.dto.request.PostCreateRequest;
 import com.example.instagram.dto.response.CommentResponse;
+import com.example.instagram.dto.response.CursorSlice;
 import com.example.instagram.dto.response.PostResponse;
 import com.example.instagram.security.CustomUserDetails;
 import com.example.instagram.service.CommentService;
@@ -17,13 +19,14 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
-
 @Controller
 @RequestMapping("/posts")
 @RequiredArgsConstructor
 public class PostController {
 
+    // 상세 페이지에 처음 보여줄 댓글 수
+    private static final int COMMENT_PAGE_SIZE = 20;
+
     private final PostService postService;
     private final CommentService commentService;
     private final LikeService likeService;
@@ -59,7 +62,8 @@ public class PostController {
     ){
         PostResponse post = postService.getPost(id);
 
-        List<CommentResponse> comments = commentService.getComments(id);
+        // 최신 댓글 한 페이지만 (이전 댓글은 /api/posts/{id}/comments 로 이어서 조회)
+        CursorSlice<CommentResponse> comments = commentService.getComments(id, Cursor.first(), COMMENT_PAGE_SIZE);
 
         // ⭐️ 1. currentUserId 변수 선언 및 초기화
         // userDetails가 null일 경우 (비로그인 상태)를 대비하여 null 체크를 합니다.
@@ -75,12 +79,15 @@ public class PostController {
         // 3. Model에 속성 추가
         model.addAttribute("post", post);
         model.addAttribute("commentRequest", new CommentRequest());
-        model.addAttribute("comments", comments);
+        model.addAttribute("comments", comments.getContent());
+        model.addAttribute("commentsNextCursor", comments.getNextCursor());
+        model.addAttribute("commentCount", commentService.getCommentCount(id));
 
         // userDetails.getId() 대신 currentUserId를 사용하여 null 체크를 피합니다.
         model.addAttribute("liked", likeService.isLiked(id, currentUserId));
 
         model.addAttribute("likeCount", likeService.getLikeCount(id));
+        model.addAttribute("followingLikers", likeService.getFollowingLikers(id, currentUserId, 3));
 
         // ⭐️ 4. isOwner와 currentUserId를 Model에 추가
         model.addAttribute("isOwner", isOwner);           // 포스트 삭제 버튼 표시 (th:if="${isOwner}")
@@ -100,9 +107,11 @@ public class PostController {
     ){
         if(bindingResult.hasErrors()){
             PostResponse post = postService.getPost(postId);
-            List<CommentResponse> comments = commentService.getComments(postId);
+            CursorSlice<CommentResponse> comments = commentService.getComments(postId, Cursor.first(), COMMENT_PAGE_SIZE);
             model.addAttribute("post", post);
-            model.addAttribute("comments", comments);
+            model.addAttribute("comments", comments.getContent());
+            model.addAttribute("commentsNextCursor", comments.getNextCursor());
+            model.addAttribute("commentCount", commentService.getCommentCount(postId));
             model.addAttribute("commentRequest", commentRequest);
             return "post/detail";
         }
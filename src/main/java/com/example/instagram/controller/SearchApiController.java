@@ -1,15 +1,19 @@
 package com.example.instagram.controller;
 
 
+import com.example.instagram.dto.request.Cursor;
+import com.example.instagram.dto.response.CursorSlice;
 import com.example.instagram.dto.response.PostResponse;
-import com.example.instagram.dto.response.UserResponse;
+import com.example.instagram.dto.response.UserSuggestionResponse;
 import com.example.instagram.entity.User;
+import com.example.instagram.security.CustomUserDetails;
 import com.example.instagram.service.PostService;
 import com.example.instagram.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -25,18 +29,33 @@ public class SearchApiController {
     private final UserService userService;
     private final PostService postService;
 
+    // 자동완성 최대 개수
+    private static final int MAX_SUGGESTIONS = 20;
+
     @GetMapping("/users")
-    public List<UserResponse> searchUsers(
-            @RequestParam String q
+    public List<UserSuggestionResponse> searchUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int size
     ) {
-        return userService.searchUsers(q.trim());
+        return userService.searchUsers(q.trim(), Math.max(1, Math.min(size, MAX_SUGGESTIONS)));
     }
 
     @GetMapping("/posts")
     public Slice<PostResponse> searchPosts(
             @RequestParam String q,
-            @PageableDefault(size = 12) Pageable pageable
+            @PageableDefault(size = 12) Pageable pageable,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        return postService.searchPosts(q.trim(), pageable, userDetails.getId());
+    }
+
+    @GetMapping(value = "/posts", params = "cursor")
+    public CursorSlice<PostResponse> searchPostsByCursor(
+            @RequestParam String q,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @AuthenticationPrincipal CustomUserDetails userDetails
     ) {
-        return postService.searchPosts(q.trim(), pageable);
+        return postService.searchPosts(q.trim(), Cursor.decode(cursor), size, userDetails.getId());
     }
 }
\ No newline at end of file
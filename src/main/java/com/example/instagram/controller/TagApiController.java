@@ -0,0 +1,50 @@
+package com.example.instagram.controller;
+
+import com.example.instagram.dto.request.Cursor;
+import com.example.instagram.dto.response.CursorSlice;
+import com.example.instagram.dto.response.PostResponse;
+import com.example.instagram.dto.response.TrendingTagResponse;
+import com.example.instagram.security.CustomUserDetails;
+import com.example.instagram.service.HashtagService;
+import com.example.instagram.service.PostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tags")
+@RequiredArgsConstructor
+public class TagApiController {
+
+    private final PostService postService;
+    private final HashtagService hashtagService;
+
+    // 인기 해시태그 최대 개수
+    private static final int MAX_TRENDING = 50;
+
+    // 최근 인기 해시태그 (window: 1h, 24h)
+    @GetMapping
+    public List<TrendingTagResponse> getTrending(
+            @RequestParam(defaultValue = "1h") String window,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return hashtagService.getTrending(window, Math.max(1, Math.min(size, MAX_TRENDING)));
+    }
+
+    // 해시태그 게시물 최신순 (cursor 가 비어 있으면 첫 페이지)
+    @GetMapping("/{tag}")
+    public CursorSlice<PostResponse> getTagPosts(
+            @PathVariable String tag,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        return postService.getTagPosts(tag, Cursor.decode(cursor), size, userDetails.getId());
+    }
+}
@@ -13,4 +13,7 @@ public class CommentRequest {
     @Size(max = 500 , message ="댓글은 500자 이내로 작성해주세요")
     private String content;
 
+    // 답글이면 대상 댓글 ID
+    private Long parentId;
+
 }
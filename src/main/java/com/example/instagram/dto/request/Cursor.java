@@ -0,0 +1,57 @@
+package com.example.instagram.dto.request;
+
+import com.example.instagram.exception.BusinessException;
+import com.example.instagram.exception.ErrorCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 키셋 페이지네이션 커서 (createdAt, id)
+// 클라이언트에는 Base64 문자열로만 노출한다
+@Getter
+@RequiredArgsConstructor
+public class Cursor {
+
+    // 첫 페이지: 어떤 게시물보다도 뒤의 위치
+    private static final Cursor FIRST = new Cursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public static Cursor first() {
+        return FIRST;
+    }
+
+    // 빈 문자열이면 첫 페이지
+    public static Cursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return FIRST;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int index = decoded.indexOf(DELIMITER);
+            if (index < 0) {
+                throw new BusinessException(ErrorCode.INVALID_CURSOR);
+            }
+
+            return new Cursor(
+                    LocalDateTime.parse(decoded.substring(0, index)),
+                    Long.parseLong(decoded.substring(index + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
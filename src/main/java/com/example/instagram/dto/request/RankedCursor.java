@@ -0,0 +1,76 @@
+package com.example.instagram.dto.request;
+
+import com.example.instagram.exception.BusinessException;
+import com.example.instagram.exception.ErrorCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// 순위 스냅샷 커서 (스냅샷 ID, 스냅샷 안 위치, 최신순 커서)
+// 스냅샷을 다 읽으면 위치를 CHRONOLOGICAL 로 바꾸고 (createdAt, id) 커서로 이어서 읽는다
+// 클라이언트에는 Base64 문자열로만 노출한다
+@Getter
+@RequiredArgsConstructor
+public class RankedCursor {
+
+    // 스냅샷을 다 읽고 최신순으로 넘어간 상태
+    public static final int CHRONOLOGICAL = -1;
+
+    // 첫 페이지: 스냅샷 없음 (요청 시점에 만든다)
+    public static final long NO_SNAPSHOT = 0;
+
+    private static final RankedCursor FIRST = new RankedCursor(NO_SNAPSHOT, 0, Cursor.first());
+
+    private static final String DELIMITER = "|";
+
+    private final long snapshotId;
+    private final int position;
+    private final Cursor after;
+
+    public static RankedCursor first() {
+        return FIRST;
+    }
+
+    public static RankedCursor ranked(long snapshotId, int position, Cursor after) {
+        return new RankedCursor(snapshotId, position, after);
+    }
+
+    public static RankedCursor chronological(long snapshotId, Cursor after) {
+        return new RankedCursor(snapshotId, CHRONOLOGICAL, after);
+    }
+
+    public boolean isRanked() {
+        return position != CHRONOLOGICAL;
+    }
+
+    // 빈 문자열이면 첫 페이지
+    public static RankedCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return FIRST;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + DELIMITER, 3);
+            if (parts.length != 3) {
+                throw new BusinessException(ErrorCode.INVALID_CURSOR);
+            }
+
+            int position = Integer.parseInt(parts[1]);
+            if (position < CHRONOLOGICAL) {
+                throw new BusinessException(ErrorCode.INVALID_CURSOR);
+            }
+
+            return new RankedCursor(Long.parseLong(parts[0]), position, Cursor.decode(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    public String encode() {
+        String raw = snapshotId + DELIMITER + position + DELIMITER + Cursor.encode(after.getCreatedAt(), after.getId());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
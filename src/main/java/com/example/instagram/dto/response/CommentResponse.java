@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 @Builder
@@ -16,15 +17,32 @@ public class CommentResponse {
     private Long userId;
     private String username;
 
+    // 답글 스레드
+    private Long rootId;
+    private Long parentId;
+    private long replySeq;
+    private long replyCount;
+    private List<CommentResponse> replies;
+
 
     //  dto 객체로 전환
     public static CommentResponse from(Comment comment) {
+        return from(comment, List.of());
+    }
+
+    // 최상위 댓글 + 미리 불러온 답글
+    public static CommentResponse from(Comment comment, List<CommentResponse> replies) {
         return CommentResponse.builder()
                 .id(comment.getId())
                 .content(comment.getContent())
                 .createdAt(comment.getCreatedAt())
                 .userId(comment.getUser().getId())
                 .username(comment.getUser().getUsername())
+                .rootId(comment.getRootId())
+                .parentId(comment.getParentId())
+                .replySeq(comment.getReplySeq())
+                .replyCount(comment.getReplyCount())
+                .replies(replies)
                 .build();
     }
 }
@@ -0,0 +1,15 @@
+package com.example.instagram.dto.response;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+// 커서 기반 페이지 응답
+@Getter
+@RequiredArgsConstructor
+public class CursorSlice<T> {
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+}
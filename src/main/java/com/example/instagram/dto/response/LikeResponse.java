@@ -0,0 +1,12 @@
+package com.example.instagram.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class LikeResponse {
+    private Long postId;
+    private boolean liked;
+    private long likeCount;
+}
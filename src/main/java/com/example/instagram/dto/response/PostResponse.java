@@ -1,6 +1,7 @@
 package com.example.instagram.dto.response;
 
 import com.example.instagram.entity.Post;
+import com.example.instagram.service.ImageVariant;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -13,7 +14,10 @@ public class PostResponse {
     private Long id;
     private String content;
     private LocalDateTime createdAt;
+    // 원본, 그리드 타일용, 피드 카드용 (축소본이 준비되기 전에는 원본으로 응답됨)
     private String imageUrl;
+    private String gridImageUrl;
+    private String feedImageUrl;
 
     private Long userId;
     private String username;
@@ -22,9 +26,16 @@ public class PostResponse {
     private long commentCount;
     private long likeCount;
 
+    // 조회자의 좋아요 여부
+    private boolean liked;
+
 
     // Entity => DTO 변환
     public static PostResponse from(Post post) {
+        return from(post, false);
+    }
+
+    public static PostResponse from(Post post, boolean liked) {
         return PostResponse.builder()
                 .id(post.getId())
                 .content(post.getContent())
@@ -32,14 +43,21 @@ public class PostResponse {
                 .userId(post.getUser().getId())
                 .username(post.getUser().getUsername())
                 .imageUrl(post.getImageUrl())
-                .profileImageUrl(post.getUser().getProfileImageUrl())
-                .likeCount(0)
-                .commentCount(0)
+                .gridImageUrl(ImageVariant.GRID.urlOf(post.getImageUrl()))
+                .feedImageUrl(ImageVariant.FEED.urlOf(post.getImageUrl()))
+                .profileImageUrl(ImageVariant.AVATAR.urlOf(post.getUser().getProfileImageUrl()))
+                .likeCount(post.getLikeCount())
+                .commentCount(post.getCommentCount())
+                .liked(liked)
                 .build();
 
     }
 
     public static PostResponse from(Post post, long commentCount, long likeCount) {
+        return from(post, commentCount, likeCount, false);
+    }
+
+    public static PostResponse from(Post post, long commentCount, long likeCount, boolean liked) {
         return PostResponse.builder()
                 .id(post.getId())
                 .content(post.getContent())
@@ -47,9 +65,12 @@ public class PostResponse {
                 .userId(post.getUser().getId())
                 .username(post.getUser().getUsername())
                 .imageUrl(post.getImageUrl())
-                .profileImageUrl(post.getUser().getProfileImageUrl())
-                .likeCount(commentCount)
-                .commentCount(likeCount)
+                .gridImageUrl(ImageVariant.GRID.urlOf(post.getImageUrl()))
+                .feedImageUrl(ImageVariant.FEED.urlOf(post.getImageUrl()))
+                .profileImageUrl(ImageVariant.AVATAR.urlOf(post.getUser().getProfileImageUrl()))
+                .likeCount(likeCount)
+                .commentCount(commentCount)
+                .liked(liked)
                 .build();
 
     }
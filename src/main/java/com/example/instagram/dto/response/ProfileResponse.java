@@ -2,6 +2,7 @@ package com.example.instagram.dto.response;
 
 
 import com.example.instagram.entity.User;
+import com.example.instagram.service.ImageVariant;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -26,7 +27,7 @@ public class ProfileResponse {
                 .username(user.getUsername())
                 .name(user.getName())
                 .bio(user.getBio())
-                .profileImageUrl(user.getProfileImageUrl())
+                .profileImageUrl(ImageVariant.AVATAR.urlOf(user.getProfileImageUrl()))
                 .postCount(0)
                 .followerCount(0)
                 .followingCount(0)
@@ -39,7 +40,7 @@ public class ProfileResponse {
                 .username(user.getUsername())
                 .name(user.getName())
                 .bio(user.getBio())
-                .profileImageUrl(user.getProfileImageUrl())
+                .profileImageUrl(ImageVariant.AVATAR.urlOf(user.getProfileImageUrl()))
                 .postCount(postCount)
                 .followerCount(followerCount)
                 .followingCount(followingCount)
@@ -0,0 +1,12 @@
+package com.example.instagram.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// 인기 해시태그 (count 는 스케치 추정값)
+@Getter
+@Builder
+public class TrendingTagResponse {
+    private String tag;
+    private long count;
+}
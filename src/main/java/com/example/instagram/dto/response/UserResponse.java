@@ -1,6 +1,7 @@
 package com.example.instagram.dto.response;
 
 import com.example.instagram.entity.User;
+import com.example.instagram.service.ImageVariant;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -22,7 +23,7 @@ public class UserResponse {
                 .email(user.getEmail())
                 .bio(user.getBio())
                 .username(user.getUsername())
-                .profileImageUrl(user.getProfileImageUrl())
+                .profileImageUrl(ImageVariant.AVATAR.urlOf(user.getProfileImageUrl()))
                 .build();
     }
 }
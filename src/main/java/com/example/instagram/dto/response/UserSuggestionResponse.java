@@ -0,0 +1,25 @@
+package com.example.instagram.dto.response;
+
+import com.example.instagram.entity.User;
+import com.example.instagram.service.ImageVariant;
+import lombok.Builder;
+import lombok.Getter;
+
+// 사용자 검색 자동완성 응답 (목록 표시에 필요한 필드만)
+@Getter
+@Builder
+public class UserSuggestionResponse {
+    private Long id;
+    private String username;
+    private String name;
+    private String profileImageUrl;
+
+    public static UserSuggestionResponse from(User user) {
+        return UserSuggestionResponse.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .name(user.getName())
+                .profileImageUrl(ImageVariant.AVATAR.urlOf(user.getProfileImageUrl()))
+                .build();
+    }
+}
@@ -4,12 +4,16 @@ import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name= "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comment_post_root_created", columnList = "post_id, root_id, created_at, id"),
+        @Index(name = "idx_comment_root_seq", columnList = "root_id, reply_seq")
+})
 @Getter
 @NoArgsConstructor
 public class Comment extends BaseEntity {
@@ -28,12 +32,38 @@ public class Comment extends BaseEntity {
     @JoinColumn(name = "post_id", nullable = false)
     private Post post;
 
+    // 답글 스레드: 최상위 댓글은 root_id 가 null, 답글은 최상위 댓글 ID 와 스레드 안 순번을 가진다
+    @Column(name = "root_id")
+    private Long rootId;
 
+    // 바로 위 댓글 (답글의 답글도 같은 스레드에 순번대로 붙는다)
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @ColumnDefault("0")
+    @Column(name = "reply_seq", nullable = false)
+    private long replySeq;
+
+    // 최상위 댓글에만 사용: 현재 답글 수, 마지막으로 발급한 순번
+    @ColumnDefault("0")
+    @Column(name = "reply_count", nullable = false)
+    private long replyCount;
+
+    @ColumnDefault("0")
+    @Column(name = "last_reply_seq", nullable = false)
+    private long lastReplySeq;
 
     @Builder
-    public Comment(String content, User user, Post post) {
+    public Comment(String content, User user, Post post, Long rootId, Long parentId, long replySeq) {
         this.content = content;
         this.user = user;
         this.post = post;
+        this.rootId = rootId;
+        this.parentId = parentId;
+        this.replySeq = replySeq;
+    }
+
+    public boolean isReply() {
+        return rootId != null;
     }
 }
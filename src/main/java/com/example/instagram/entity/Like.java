@@ -9,7 +9,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name= "post_likes")
+@Table(name = "post_likes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_like_post_user", columnNames = {"post_id", "user_id"}))
 @Getter
 @NoArgsConstructor
 public class Like extends BaseEntity {
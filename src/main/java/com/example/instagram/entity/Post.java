@@ -5,12 +5,17 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_post_created", columnList = "created_at, id"),
+        @Index(name = "idx_post_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_post_image_url", columnList = "image_url")
+})
 @Getter
 @NoArgsConstructor
 public class Post extends BaseEntity {
@@ -28,6 +33,15 @@ public class Post extends BaseEntity {
     @Column(name = "image_url")
     private String imageUrl;
 
+    // 비정규화 카운터: 좋아요/댓글 변경 시 UPDATE ... SET x = x ± 1 로만 갱신
+    @ColumnDefault("0")
+    @Column(name = "like_count", nullable = false)
+    private long likeCount;
+
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount;
+
     @OneToMany(mappedBy = "post",
             cascade = CascadeType.ALL, // ⭐️ 이 속성을 추가합니다.
             orphanRemoval = true) // 이 속성도 보통 함께 사용하여 고아 객체를 정리합니다.
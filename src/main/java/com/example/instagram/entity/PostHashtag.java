@@ -0,0 +1,42 @@
+package com.example.instagram.entity;
+
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 해시태그 -> 게시물 색인
+// 태그는 정규화(NFKC, 소문자)한 값으로 저장하고, 태그 피드는 (tag, created_at, post_id) 인덱스 범위만 읽는다
+@Entity
+@Table(name = "post_hashtags",
+        uniqueConstraints = @UniqueConstraint(name = "uk_hashtag_tag_post", columnNames = {"tag", "post_id"}),
+        indexes = {
+                @Index(name = "idx_hashtag_tag_created", columnList = "tag, created_at, post_id"),
+                @Index(name = "idx_hashtag_post", columnList = "post_id")
+        })
+@Getter
+@NoArgsConstructor
+public class PostHashtag {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String tag;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    // 게시물 작성 시각 (태그 피드 정렬 기준)
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Builder
+    public PostHashtag(String tag, Long postId, LocalDateTime createdAt) {
+        this.tag = tag;
+        this.postId = postId;
+        this.createdAt = createdAt;
+    }
+}
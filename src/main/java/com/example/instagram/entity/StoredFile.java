@@ -0,0 +1,33 @@
+package com.example.instagram.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 업로드 파일 (내용 주소 방식)
+// 파일 이름은 내용의 SHA-256 이라 같은 이미지는 한 번만 저장되고, 게시물/프로필이 참조하는 수를 센다
+@Entity
+@Table(name = "stored_files",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stored_file_hash", columnNames = "hash"),
+        indexes = @Index(name = "idx_stored_file_name", columnList = "file_name"))
+@Getter
+@NoArgsConstructor
+public class StoredFile extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SHA-256 (hex)
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    // 업로드 디렉터리 안의 파일 이름 (hash + 확장자)
+    @Column(name = "file_name", nullable = false, length = 80)
+    private String fileName;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+}
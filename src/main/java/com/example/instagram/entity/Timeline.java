@@ -0,0 +1,39 @@
+package com.example.instagram.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 사용자별 홈 타임라인 (fan-out on write)
+// 게시물 작성 시 팔로워 수만큼 행이 미리 쌓이고, 피드는 owner_id 인덱스 범위만 읽는다
+@Entity
+@Table(name = "timelines",
+        uniqueConstraints = @UniqueConstraint(name = "uk_timeline_owner_post", columnNames = {"owner_id", "post_id"}),
+        indexes = {
+                @Index(name = "idx_timeline_owner_created", columnList = "owner_id, created_at, post_id"),
+                @Index(name = "idx_timeline_post", columnList = "post_id")
+        })
+@Getter
+@NoArgsConstructor
+public class Timeline {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 타임라인 주인 (팔로워)
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    // 게시물 작성자 (언팔로우 시 일괄 삭제용)
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    // 게시물 작성 시각 (피드 정렬 기준)
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
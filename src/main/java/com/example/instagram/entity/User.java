@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_user_profile_image_url", columnList = "profile_image_url"))
 @Getter
 @NoArgsConstructor
 public class User extends BaseEntity{
@@ -11,10 +11,12 @@ public enum ErrorCode {
     // 400 Bad Request
     SELF_FOLLOW(HttpStatus.BAD_REQUEST, "자기 자신은 팔로우 할 수 없습니다."),
     INVALID_FILE_TYPE(HttpStatus.BAD_REQUEST, "허용되지 않는 파일 형식입니다."),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "잘못된 페이지 커서입니다."),
 
     // 404 Not Found
     USER_NOT_FOUND(HttpStatus.NOT_FOUND, "사용자를 찾을수 없습니다."),
-    POST_NOT_FOUND(HttpStatus.NOT_FOUND, "게시물을 찾을수 없습니다.")
+    POST_NOT_FOUND(HttpStatus.NOT_FOUND, "게시물을 찾을수 없습니다."),
+    COMMENT_NOT_FOUND(HttpStatus.NOT_FOUND, "댓글을 찾을수 없습니다.")
     ;
 
 
@@ -1,15 +1,69 @@
 package com.example.instagram.repository;
 
 import com.example.instagram.entity.Comment;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    @EntityGraph(attributePaths = {"user"})
-    List<Comment> findByPostIdOrderByCreatedAtDesc(Long postId);
+    // 키셋 페이지네이션: (createdAt, id) 커서 이전의 최상위 댓글만 (post_id, root_id, created_at, id) 인덱스로 탐색
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user " +
+            "WHERE c.post.id = :postId AND c.rootId IS NULL " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findRootsBeforeCursor(@Param("postId") Long postId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    // 한 페이지의 모든 스레드에서 순번 앞쪽 답글 ID 를 한 번에 조회 ((root_id, reply_seq) 인덱스)
+    // 답글이 지워지면 순번에 빈자리가 생기므로 순번 값이 아니라 스레드 안 순위로 자른다
+    @Query(value = "SELECT r.id FROM (SELECT c.id, c.root_id, c.reply_seq, " +
+            "ROW_NUMBER() OVER (PARTITION BY c.root_id ORDER BY c.reply_seq) AS rn " +
+            "FROM comments c WHERE c.root_id IN :rootIds) r " +
+            "WHERE r.rn <= :limit ORDER BY r.root_id, r.reply_seq",
+            nativeQuery = true)
+    List<Long> findReplyPreviewIds(@Param("rootIds") Collection<Long> rootIds,
+                                   @Param("limit") int limit);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.id IN :ids ORDER BY c.rootId, c.replySeq")
+    List<Comment> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 스레드 하나의 답글 (순번 이후), 다른 게시물의 댓글 ID 로는 조회되지 않게 게시물도 확인
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user " +
+            "WHERE c.rootId = :rootId AND c.post.id = :postId AND c.replySeq > :afterSeq " +
+            "ORDER BY c.replySeq")
+    List<Comment> findRepliesAfter(@Param("postId") Long postId,
+                                   @Param("rootId") Long rootId,
+                                   @Param("afterSeq") long afterSeq,
+                                   Pageable pageable);
+
+    // 답글 순번 발급: 최상위 댓글 행을 갱신하면서 잠그므로 동시에 달린 답글도 순번이 겹치지 않는다
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + 1, c.lastReplySeq = c.lastReplySeq + 1 WHERE c.id = :rootId")
+    int addReply(@Param("rootId") Long rootId);
+
+    @Query("SELECT c.lastReplySeq FROM Comment c WHERE c.id = :rootId")
+    long findLastReplySeq(@Param("rootId") Long rootId);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount - 1 WHERE c.id = :rootId AND c.replyCount > 0")
+    int removeReply(@Param("rootId") Long rootId);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.rootId = :rootId")
+    int deleteByRootId(@Param("rootId") Long rootId);
 
     long countByPostId(Long postId);
 
+    // 여러 게시물의 댓글 수를 한 번에 조회
+    @Query("SELECT c.post.id AS postId, COUNT(c) AS count FROM Comment c WHERE c.post.id IN :postIds GROUP BY c.post.id")
+    List<PostCount> countByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
 }
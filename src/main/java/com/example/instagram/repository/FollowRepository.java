@@ -1,6 +1,7 @@
 package com.example.instagram.repository;
 
 import com.example.instagram.entity.Follow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,4 +23,16 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :followerId")
     List<Long> findFollowingIdsByFollowerId(@Param("followerId") Long followerId);
 
+    // 팔로워 ID 목록 조회
+    @Query("SELECT f.follower.id FROM Follow f WHERE f.following.id = :followingId")
+    List<Long> findFollowerIdsByFollowingId(@Param("followingId") Long followingId);
+
+    // 팔로우 그래프 로딩용 (id, follower_id, following_id) 배치 조회
+    @Query("SELECT f.id, f.follower.id, f.following.id FROM Follow f WHERE f.id > :lastId ORDER BY f.id")
+    List<Object[]> findEdgesAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 팔로워 수가 기준 이상인 계정 (유명 계정)
+    @Query("SELECT f.following.id FROM Follow f GROUP BY f.following.id HAVING COUNT(f) >= :threshold")
+    List<Long> findFollowingIdsHavingFollowersAtLeast(@Param("threshold") long threshold);
+
 }
\ No newline at end of file
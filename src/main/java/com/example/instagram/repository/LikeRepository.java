@@ -2,11 +2,44 @@ package com.example.instagram.repository;
 
 import com.example.instagram.entity.Like;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface LikeRepository extends JpaRepository<Like, Long> {
     Optional<Like> findByPostIdAndUserId(Long postId, Long userId);
     boolean existsByPostIdAndUserId(Long postId, Long userId);
     long countByPostId(Long postId);
+
+    // 게시물에 좋아요 누른 사용자 ID (좋아요 비트맵 로드용)
+    @Query("SELECT l.user.id FROM Like l WHERE l.post.id = :postId")
+    List<Long> findUserIdsByPostId(@Param("postId") Long postId);
+
+    // 여러 게시물의 좋아요 수를 한 번에 조회
+    @Query("SELECT l.post.id AS postId, COUNT(l) AS count FROM Like l WHERE l.post.id IN :postIds GROUP BY l.post.id")
+    List<PostCount> countByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    // 주어진 게시물 중 사용자가 좋아요 누른 게시물 ID (한 번의 IN 조회)
+    @Query("SELECT l.post.id FROM Like l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId,
+                                @Param("postIds") Collection<Long> postIds);
+
+    // 사용자가 작성자별로 누른 좋아요 수 (authorId, count)
+    @Query("SELECT l.post.user.id, COUNT(l) FROM Like l " +
+            "WHERE l.user.id = :userId AND l.post.user.id IN :authorIds GROUP BY l.post.user.id")
+    List<Object[]> countLikesByAuthor(@Param("userId") Long userId,
+                                      @Param("authorIds") Collection<Long> authorIds);
+
+    // 유니크 제약 추가 전 쌓인 중복 좋아요 정리 (가장 먼저 생성된 행만 남김)
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE l1 FROM post_likes l1 JOIN post_likes l2 " +
+            "ON l1.post_id = l2.post_id AND l1.user_id = l2.user_id AND l1.id > l2.id",
+            nativeQuery = true)
+    int deleteDuplicates();
 }
@@ -0,0 +1,7 @@
+package com.example.instagram.repository;
+
+// 게시물별 집계 결과 (GROUP BY post_id)
+public interface PostCount {
+    Long getPostId();
+    Long getCount();
+}
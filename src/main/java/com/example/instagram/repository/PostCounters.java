@@ -0,0 +1,11 @@
+package com.example.instagram.repository;
+
+import java.time.LocalDateTime;
+
+// posts 테이블에 저장된 카운터 값
+public interface PostCounters {
+    Long getId();
+    LocalDateTime getCreatedAt();
+    long getLikeCount();
+    long getCommentCount();
+}
@@ -0,0 +1,31 @@
+package com.example.instagram.repository;
+
+import com.example.instagram.entity.PostHashtag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PostHashtagRepository extends JpaRepository<PostHashtag, Long> {
+
+    @Modifying
+    @Query("DELETE FROM PostHashtag h WHERE h.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    // 인기 해시태그 초기화용 (tag, createdAt)
+    @Query("SELECT h.tag, h.createdAt FROM PostHashtag h WHERE h.createdAt > :since")
+    List<Object[]> findTagsCreatedAfter(@Param("since") LocalDateTime since);
+
+    // 태그 피드: (작성 시각, 게시물 ID) 커서 이전 범위만 인덱스로 읽음
+    @Query("SELECT h.postId AS postId, h.createdAt AS createdAt FROM PostHashtag h WHERE h.tag = :tag " +
+            "AND (h.createdAt < :createdAt OR (h.createdAt = :createdAt AND h.postId < :postId)) " +
+            "ORDER BY h.createdAt DESC, h.postId DESC")
+    List<TimelineEntry> findEntriesBeforeCursor(@Param("tag") String tag,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("postId") Long postId,
+                                                Pageable pageable);
+}
@@ -5,11 +5,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
     @EntityGraph(attributePaths = {"user"})
@@ -23,15 +31,88 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @EntityGraph(attributePaths = "user")
     Optional<Post> findById(Long id);
 
-    // 피드조회
-    @Query("SELECT p FROM Post p JOIN FETCH p.user WHERE p.user.id IN :userIds ORDER BY p.createdAt DESC")
-    Slice<Post> findFeedPostsByUserIds(@Param("userIds") List<Long> userIds, Pageable pageable);
+    // 카운터 캐시 로드, 카운터 보정용
+    @Query("SELECT p.id AS id, p.createdAt AS createdAt, p.likeCount AS likeCount, p.commentCount AS commentCount " +
+            "FROM Post p WHERE p.id IN :ids")
+    List<PostCounters> findCountersByIdIn(@Param("ids") Collection<Long> ids);
 
+    // 카운터 보정 대상 조회 (id 순 배치)
+    @Query("SELECT p.id AS id, p.createdAt AS createdAt, p.likeCount AS likeCount, p.commentCount AS commentCount " +
+            "FROM Post p WHERE p.id > :lastId ORDER BY p.id")
+    List<PostCounters> findCountersAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 검색 색인 로딩용 (id, content, createdAt) 배치 조회
+    @Query("SELECT p.id, p.content, p.createdAt FROM Post p WHERE p.id > :lastId ORDER BY p.id")
+    List<Object[]> findContentAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 해시태그 백필 범위 (이후 게시물은 작성 시점에 태그가 저장됨)
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Post p")
+    long findMaxId();
+
+    // 탐색 랭킹 초기화용 최근 게시물 카운터
+    @Query("SELECT p.id AS id, p.createdAt AS createdAt, p.likeCount AS likeCount, p.commentCount AS commentCount " +
+            "FROM Post p ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostCounters> findRecentCounters(Pageable pageable);
+
+    // 실제 행 수로 카운터 재계산
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET " +
+            "p.likeCount = (SELECT COUNT(l) FROM Like l WHERE l.post.id = p.id), " +
+            "p.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id) " +
+            "WHERE p.id IN :postIds")
+    int resetCounters(@Param("postIds") Collection<Long> postIds);
+
+    // 타임라인 ID 목록으로 게시물 조회
+    @Query("SELECT p FROM Post p JOIN FETCH p.user WHERE p.id IN :ids")
+    List<Post> findAllWithUserByIdIn(@Param("ids") List<Long> ids);
+
+    // ID 순서를 유지한 채 게시물 조회 (삭제된 게시물은 건너뜀)
+    default List<Post> findAllWithUserInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Post> postMap = findAllWithUserByIdIn(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        return ids.stream()
+                .map(postMap::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 피드조회 (pull): 팔로우한 유명 계정의 게시물 (작성 시각, ID) 만 조회
+    @Query("SELECT p.id AS postId, p.createdAt AS createdAt FROM Post p WHERE p.user.id IN :userIds " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<TimelineEntry> findFeedEntriesBeforeCursor(@Param("userIds") Collection<Long> userIds,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
 
-    // 전체게시물조회 (페이징)
-    @Query("SELECT p FROM Post p JOIN FETCH p.user ORDER BY p.createdAt DESC")
-    Slice<Post> findAllWithUserPaging(Pageable pageable);
 
     @Query("SELECT p FROM Post p JOIN FETCH p.user WHERE p.content LIKE %:keyword% ORDER BY p.createdAt DESC")
     Slice<Post> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
+
+    // 키셋 페이지네이션: (createdAt, id) 커서 이후의 게시물만 인덱스로 탐색
+    @Query("SELECT p FROM Post p JOIN FETCH p.user " +
+            "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findAllBeforeCursor(@Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Pageable pageable);
+
+    @Query("SELECT p FROM Post p JOIN FETCH p.user " +
+            "WHERE p.content LIKE %:keyword% " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> searchByKeywordBeforeCursor(@Param("keyword") String keyword,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    // 업로드 파일 정리용: 주어진 경로 중 게시물 이미지로 쓰이는 것
+    @Query("SELECT DISTINCT p.imageUrl FROM Post p WHERE p.imageUrl IN :urls")
+    List<String> findImageUrlsIn(@Param("urls") Collection<String> urls);
 }
\ No newline at end of file
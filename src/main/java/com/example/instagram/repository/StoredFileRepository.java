@@ -0,0 +1,40 @@
+package com.example.instagram.repository;
+
+import com.example.instagram.entity.StoredFile;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StoredFileRepository extends JpaRepository<StoredFile, Long> {
+
+    // 처음 보는 내용이면 행 추가, 이미 있으면 참조 수만 증가 (hash 유니크 인덱스로 한 문장 처리)
+    @Modifying
+    @Query(value = "INSERT INTO stored_files (hash, file_name, size, ref_count, created_at, updated_at) " +
+            "VALUES (:hash, :fileName, :size, 1, NOW(), NOW()) " +
+            "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, updated_at = NOW()",
+            nativeQuery = true)
+    int acquire(@Param("hash") String hash, @Param("fileName") String fileName, @Param("size") long size);
+
+    @Query("SELECT f.fileName FROM StoredFile f WHERE f.hash = :hash")
+    Optional<String> findFileNameByHash(@Param("hash") String hash);
+
+    // 파일 정리 중 같은 내용이 다시 올라오지 않도록 잠금 (없는 해시도 유니크 인덱스 구간이 잠겨 acquire 가 대기함)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM StoredFile f WHERE f.hash IN :hashes")
+    List<StoredFile> lockByHashIn(@Param("hashes") Collection<String> hashes);
+
+    @Modifying
+    @Query("DELETE FROM StoredFile f WHERE f.fileName IN :fileNames")
+    int deleteByFileNameIn(@Param("fileNames") Collection<String> fileNames);
+
+    @Modifying
+    @Query("UPDATE StoredFile f SET f.refCount = f.refCount - 1 WHERE f.fileName = :fileName AND f.refCount > 0")
+    int release(@Param("fileName") String fileName);
+}
@@ -0,0 +1,9 @@
+package com.example.instagram.repository;
+
+import java.time.LocalDateTime;
+
+// 피드 병합용 (게시물 ID, 작성 시각)
+public interface TimelineEntry {
+    Long getPostId();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,66 @@
+package com.example.instagram.repository;
+
+import com.example.instagram.entity.Timeline;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TimelineRepository extends JpaRepository<Timeline, Long> {
+
+    // 작성자의 모든 팔로워 타임라인에 게시물 추가 (INSERT ... SELECT 한 번)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO timelines (owner_id, post_id, author_id, created_at) " +
+            "SELECT f.follower_id, :postId, :authorId, :createdAt FROM follows f WHERE f.following_id = :authorId",
+            nativeQuery = true)
+    int fanOut(@Param("postId") Long postId,
+               @Param("authorId") Long authorId,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    // 새로 팔로우한 사용자의 최근 게시물을 타임라인에 채워넣기
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO timelines (owner_id, post_id, author_id, created_at) " +
+            "SELECT :ownerId, p.id, p.user_id, p.created_at FROM posts p WHERE p.user_id = :authorId " +
+            "ORDER BY p.created_at DESC LIMIT :limit",
+            nativeQuery = true)
+    int backfill(@Param("ownerId") Long ownerId,
+                 @Param("authorId") Long authorId,
+                 @Param("limit") int limit);
+
+    // 기존 팔로우 관계 전체로 타임라인 재구성 (최초 기동 시)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO timelines (owner_id, post_id, author_id, created_at) " +
+            "SELECT f.follower_id, p.id, p.user_id, p.created_at FROM follows f JOIN posts p ON p.user_id = f.following_id",
+            nativeQuery = true)
+    int rebuildAll();
+
+    @Modifying
+    @Query("DELETE FROM Timeline t WHERE t.ownerId = :ownerId AND t.authorId = :authorId")
+    int deleteByOwnerIdAndAuthorId(@Param("ownerId") Long ownerId, @Param("authorId") Long authorId);
+
+    @Modifying
+    @Query("DELETE FROM Timeline t WHERE t.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    // 유명 계정이 기준 미만으로 내려오면, push 하지 않았던 최근 게시물을 팔로워 타임라인에 채워넣기
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO timelines (owner_id, post_id, author_id, created_at) " +
+            "SELECT f.follower_id, p.id, p.user_id, p.created_at FROM follows f " +
+            "JOIN (SELECT id, user_id, created_at FROM posts WHERE user_id = :authorId " +
+            "ORDER BY created_at DESC LIMIT :limit) p ON p.user_id = f.following_id",
+            nativeQuery = true)
+    int backfillFollowers(@Param("authorId") Long authorId, @Param("limit") int limit);
+
+    // 피드 조회: 이미 정렬된 (작성 시각, 게시물 ID) 범위만 읽음
+    @Query("SELECT t.postId AS postId, t.createdAt AS createdAt FROM Timeline t WHERE t.ownerId = :ownerId " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.postId < :postId)) " +
+            "ORDER BY t.createdAt DESC, t.postId DESC")
+    List<TimelineEntry> findEntriesBeforeCursor(@Param("ownerId") Long ownerId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("postId") Long postId,
+                                                Pageable pageable);
+}
@@ -1,10 +1,12 @@
 package com.example.instagram.repository;
 
 import com.example.instagram.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,5 +16,13 @@ public interface UserRepository extends JpaRepository<User,Long> {
     boolean existsByUsername(String username);
 
     @Query("SELECT u FROM User u WHERE u.username LIKE %:keyword% OR u.name LIKE %:keyword%")
-    List<User> searchByKeyword(@Param("keyword") String keyword);
+    List<User> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
+
+    // 검색 색인 로딩용 (id, username, name, profileImageUrl) 배치 조회
+    @Query("SELECT u.id, u.username, u.name, u.profileImageUrl FROM User u WHERE u.id > :lastId ORDER BY u.id")
+    List<Object[]> findSearchFieldsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 업로드 파일 정리용: 주어진 경로 중 프로필 이미지로 쓰이는 것
+    @Query("SELECT DISTINCT u.profileImageUrl FROM User u WHERE u.profileImageUrl IN :urls")
+    List<String> findProfileImageUrlsIn(@Param("urls") Collection<String> urls);
 }
\ No newline at end of file
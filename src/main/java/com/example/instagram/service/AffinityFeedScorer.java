@@ -0,0 +1,17 @@
+package com.example.instagram.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 조회자가 자주 좋아요를 누른 작성자일수록 높은 점수
+@Component
+public class AffinityFeedScorer implements FeedScorer {
+
+    @Value("${feed.ranking.affinity-weight:0.5}")
+    private double weight;
+
+    @Override
+    public double score(FeedCandidate candidate) {
+        return weight * Math.log1p(candidate.getAuthorAffinity());
+    }
+}
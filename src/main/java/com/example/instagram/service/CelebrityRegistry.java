@@ -0,0 +1,64 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.TimelineRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 팔로워 수가 기준 이상인 계정(유명 계정) 목록
+// 유명 계정의 게시물은 팔로워 타임라인에 push 하지 않고, 피드 조회 시 pull 해서 병합한다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CelebrityRegistry {
+
+    private final FollowGraph followGraph;
+    private final TimelineRepository timelineRepository;
+
+    @Value("${feed.celebrity.follower-threshold:10000}")
+    private long followerThreshold;
+
+    @Value("${feed.timeline.backfill-size:100}")
+    private int backfillSize;
+
+    private volatile Set<Long> celebrityIds = Set.of();
+
+    public boolean isCelebrity(Long userId) {
+        return celebrityIds.contains(userId);
+    }
+
+    public Set<Long> getCelebrityIds() {
+        return celebrityIds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${feed.celebrity.refresh-interval-ms:60000}")
+    @Transactional
+    public void refresh() {
+        Set<Long> current = Arrays.stream(followGraph.usersWithFollowersAtLeast(followerThreshold))
+                .boxed()
+                .collect(Collectors.toUnmodifiableSet());
+
+        // 기준 미만으로 내려온 계정은 이후 push 대상이므로, pull 로만 보이던 최근 게시물을 채워둔다
+        Set<Long> demoted = new HashSet<>(celebrityIds);
+        demoted.removeAll(current);
+        for (Long authorId : demoted) {
+            timelineRepository.backfillFollowers(authorId, backfillSize);
+        }
+
+        if (!demoted.isEmpty() || current.size() != celebrityIds.size()) {
+            log.info("유명 계정 갱신: {}명 (기준 팔로워 {}명, 해제 {}명)", current.size(), followerThreshold, demoted.size());
+        }
+        celebrityIds = current;
+    }
+}
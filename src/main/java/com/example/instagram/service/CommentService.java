@@ -1,15 +1,16 @@
 package com.example.instagram.service;
 
 import com.example.instagram.dto.request.CommentRequest;
+import com.example.instagram.dto.request.Cursor;
 import com.example.instagram.dto.response.CommentResponse;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.List;
+import com.example.instagram.dto.response.CursorSlice;
 
 
 public interface CommentService {
     CommentResponse create(Long postId, CommentRequest commentRequest, Long userId);
-    List<CommentResponse> getComments(Long postId);
+    CursorSlice<CommentResponse> getComments(Long postId, Cursor cursor, int size);
+    CursorSlice<CommentResponse> getReplies(Long postId, Long rootId, long afterSeq, int size);
+    long getCommentCount(Long postId);
 
     void deleteComment(Long commentId, Long currentUserId);
 
@@ -1,7 +1,9 @@
 package com.example.instagram.service;
 
 import com.example.instagram.dto.request.CommentRequest;
+import com.example.instagram.dto.request.Cursor;
 import com.example.instagram.dto.response.CommentResponse;
+import com.example.instagram.dto.response.CursorSlice;
 import com.example.instagram.entity.Comment;
 import com.example.instagram.entity.Post;
 import com.example.instagram.entity.User;
@@ -9,10 +11,12 @@ import com.example.instagram.exception.BusinessException;
 import com.example.instagram.exception.ErrorCode;
 import com.example.instagram.repository.CommentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,9 +24,16 @@ import java.util.stream.Collectors;
 @Transactional // database 동작이라 붙임
 public class CommentServiceImpl implements CommentService {
 
+    private static final int MAX_PAGE_SIZE = 50;
+
+    // 목록에서 스레드마다 미리 보여줄 답글 수 (순번 기준)
+    private static final int REPLY_PREVIEW_SIZE = 3;
+
     private final PostService postService;
     private final UserService userService;
     private final CommentRepository commentRepository;
+    private final PostCounterCache postCounterCache;
+    private final TrendingEngine trendingEngine;
 
     @Override
     @Transactional
@@ -30,22 +41,96 @@ public class CommentServiceImpl implements CommentService {
         Post post = postService.findById(postId);
         User user = userService.findById(userId);
 
+        Long rootId = null;
+        Long parentId = commentRequest.getParentId();
+        long replySeq = 0;
+
+        // 답글: 최상위 댓글 스레드에 다음 순번으로 붙임
+        if (parentId != null) {
+            Comment parent = commentRepository.findById(parentId)
+                    .filter(found -> found.getPost().getId().equals(postId))
+                    .orElseThrow(() -> new BusinessException(ErrorCode.COMMENT_NOT_FOUND));
+
+            rootId = parent.isReply() ? parent.getRootId() : parent.getId();
+            commentRepository.addReply(rootId);
+            replySeq = commentRepository.findLastReplySeq(rootId);
+        }
+
         Comment comment = Comment.builder()
                 .content(commentRequest.getContent())
                 .post(post)
                 .user(user)
+                .rootId(rootId)
+                .parentId(parentId)
+                .replySeq(replySeq)
                 .build();
 
         Comment saved = commentRepository.save(comment);
+        postCounterCache.addComments(postId, 1);
+        trendingEngine.onComment(postId, 1);
         return CommentResponse.from(saved);
     }
 
     @Override
-    public List<CommentResponse> getComments(Long postId) {
-        return commentRepository.findByPostIdOrderByCreatedAtDesc(postId).stream()
-                .map(CommentResponse::from)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorSlice<CommentResponse> getComments(Long postId, Cursor cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // limit + 1 개를 조회해서 다음 페이지 존재 여부 판단
+        List<Comment> comments = commentRepository.findRootsBeforeCursor(
+                postId, cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, limit + 1));
+
+        boolean hasNext = comments.size() > limit;
+        List<Comment> page = hasNext ? comments.subList(0, limit) : comments;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Comment last = page.get(page.size() - 1);
+            nextCursor = Cursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        // 답글 수는 최상위 댓글 행에 있으므로, 답글이 있는 스레드의 앞부분만 한 번에 조회
+        List<Long> threadIds = page.stream()
+                .filter(root -> root.getReplyCount() > 0)
+                .map(Comment::getId)
+                .toList();
+
+        List<Long> replyIds = threadIds.isEmpty()
+                ? List.of()
+                : commentRepository.findReplyPreviewIds(threadIds, REPLY_PREVIEW_SIZE);
+
+        Map<Long, List<CommentResponse>> replies = replyIds.isEmpty()
+                ? Map.of()
+                : commentRepository.findAllWithUserByIdIn(replyIds).stream()
+                        .collect(Collectors.groupingBy(Comment::getRootId,
+                                Collectors.mapping(CommentResponse::from, Collectors.toList())));
 
+        List<CommentResponse> content = page.stream()
+                .map(root -> CommentResponse.from(root, replies.getOrDefault(root.getId(), List.of())))
+                .toList();
+
+        return new CursorSlice<>(content, nextCursor, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<CommentResponse> getReplies(Long postId, Long rootId, long afterSeq, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        List<Comment> replies = commentRepository.findRepliesAfter(postId, rootId, afterSeq, PageRequest.of(0, limit + 1));
+
+        boolean hasNext = replies.size() > limit;
+        List<Comment> page = hasNext ? replies.subList(0, limit) : replies;
+
+        // 답글 커서는 스레드 안 순번
+        String nextCursor = hasNext ? String.valueOf(page.get(page.size() - 1).getReplySeq()) : null;
+
+        return new CursorSlice<>(page.stream().map(CommentResponse::from).toList(), nextCursor, hasNext);
+    }
+
+    @Override
+    public long getCommentCount(Long postId) {
+        return postCounterCache.commentCount(postId);
     }
 
     @Override
@@ -62,8 +147,16 @@ public class CommentServiceImpl implements CommentService {
             throw new BusinessException(ErrorCode.POST_NOT_FOUND);
         }
 
-        // 3. 댓글 삭제 실행
+        // 3. 댓글 삭제 실행 (최상위 댓글이면 스레드의 답글도 함께 삭제)
+        int deleted = 1;
+        if (comment.isReply()) {
+            commentRepository.removeReply(comment.getRootId());
+        } else {
+            deleted += commentRepository.deleteByRootId(comment.getId());
+        }
         commentRepository.delete(comment);
+        postCounterCache.addComments(comment.getPost().getId(), -deleted);
+        trendingEngine.onComment(comment.getPost().getId(), -deleted);
     }
 
 
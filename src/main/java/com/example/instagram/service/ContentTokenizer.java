@@ -0,0 +1,94 @@
+package com.example.instagram.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 검색용 토크나이저
+// 한글(및 한자/가나)은 조사와 어미가 붙어 띄어쓰기 단위로는 검색이 잘 안 되므로 글자 2-gram 으로 나누고,
+// 그 외 문자(영문, 숫자 등)는 공백/구두점 기준 단어를 소문자로 사용한다
+// 색인할 때는 n-gram 대상 글자를 한 글자 토큰으로도 넣어 한 글자 검색어도 찾을 수 있게 한다
+public final class ContentTokenizer {
+
+    private ContentTokenizer() {
+    }
+
+    // 검색어용
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    // 색인용 (2-gram + 1-gram)
+    public static List<String> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    // 단어 토큰(영문, 숫자 등)이면 true, n-gram 토큰이면 false (단어 토큰만 접두어 검색 대상)
+    public static boolean isWordToken(String token) {
+        return !token.isEmpty() && !isNgramScript(token.codePointAt(0));
+    }
+
+    private static List<String> tokenize(String text, boolean withUnigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int start = 0;
+
+        while (start < length) {
+            int codePoint = lower.codePointAt(start);
+            if (!Character.isLetterOrDigit(codePoint)) {
+                start += Character.charCount(codePoint);
+                continue;
+            }
+
+            // 같은 종류(n-gram 대상 여부)의 글자가 이어지는 구간
+            boolean ngram = isNgramScript(codePoint);
+            int end = start;
+            while (end < length) {
+                int next = lower.codePointAt(end);
+                if (!Character.isLetterOrDigit(next) || isNgramScript(next) != ngram) {
+                    break;
+                }
+                end += Character.charCount(next);
+            }
+
+            String segment = lower.substring(start, end);
+            if (ngram) {
+                addNgrams(segment, withUnigrams, tokens);
+            } else {
+                tokens.add(segment);
+            }
+            start = end;
+        }
+        return tokens;
+    }
+
+    // 한 글자면 그대로, 두 글자 이상이면 이웃한 두 글자씩 (withUnigrams 면 각 글자도)
+    private static void addNgrams(String segment, boolean withUnigrams, List<String> tokens) {
+        int[] codePoints = segment.codePoints().toArray();
+        if (codePoints.length == 1) {
+            tokens.add(segment);
+            return;
+        }
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+        if (withUnigrams) {
+            for (int codePoint : codePoints) {
+                tokens.add(Character.toString(codePoint));
+            }
+        }
+    }
+
+    private static boolean isNgramScript(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.instagram.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// 고정 크기 빈도 추정 (count-min sketch)
+// depth 개의 행마다 해시한 칸에 더하고, 추정값은 행들 중 최솟값이다 (실제보다 작게 나오지 않음)
+// 같은 크기의 스케치끼리는 칸 단위로 빼기가 가능해, 시간 버킷을 합친 창에서 오래된 버킷을 덜어낼 수 있다
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final int[] cells;
+
+    public CountMinSketch(int width, int depth) {
+        this.width = width;
+        this.depth = depth;
+        this.cells = new int[width * depth];
+    }
+
+    public void add(long hash, int count) {
+        for (int row = 0; row < depth; row++) {
+            cells[index(hash, row)] += count;
+        }
+    }
+
+    public int estimate(long hash) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, cells[index(hash, row)]);
+        }
+        return min;
+    }
+
+    public void subtract(CountMinSketch other) {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] -= other.cells[i];
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(cells, 0);
+    }
+
+    // 64비트 FNV-1a, 행별 칸은 두 해시의 조합 (h1 + row * h2) 으로 구한다
+    public static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return row * width + Math.floorMod(h1 + row * h2, width);
+    }
+}
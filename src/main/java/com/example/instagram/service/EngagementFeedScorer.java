@@ -0,0 +1,18 @@
+package com.example.instagram.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 좋아요/댓글이 많은 게시물일수록 높은 점수 (로그 스케일)
+@Component
+public class EngagementFeedScorer implements FeedScorer {
+
+    @Value("${feed.ranking.engagement-weight:0.3}")
+    private double weight;
+
+    @Override
+    public double score(FeedCandidate candidate) {
+        long engagement = candidate.getPost().getLikeCount() + 2 * candidate.getPost().getCommentCount();
+        return weight * Math.log1p(Math.max(0, engagement));
+    }
+}
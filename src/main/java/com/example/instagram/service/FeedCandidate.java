@@ -0,0 +1,29 @@
+package com.example.instagram.service;
+
+import com.example.instagram.entity.Post;
+import lombok.Getter;
+import lombok.Setter;
+
+// 피드 랭킹 후보 게시물과 피처
+@Getter
+@Setter
+public class FeedCandidate {
+
+    private final Post post;
+
+    // 작성 후 경과 시간
+    private double ageHours;
+
+    // 조회자가 이 작성자의 게시물에 누른 좋아요 수
+    private long authorAffinity;
+
+    private double score;
+
+    public FeedCandidate(Post post) {
+        this.post = post;
+    }
+
+    public Long getAuthorId() {
+        return post.getUser().getId();
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.request.Cursor;
+import com.example.instagram.entity.Post;
+import com.example.instagram.repository.LikeRepository;
+import com.example.instagram.repository.PostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// 홈 피드 랭킹 파이프라인
+// 후보 조회 -> 피처 채우기 -> 점수 -> 작성자 다양성 순으로 실행하고 단계마다 시간을 잰다
+// 전체 시간이 예산을 넘으면 남은 단계를 건너뛰고 최신순 후보를 그대로 반환한다
+// 단계별 시간은 feed.ranking.stage 타이머로, 예산 초과는 feed.ranking.budget.exceeded 카운터로 남긴다
+// 결과에는 후보 구간의 끝 위치를 함께 담아, 구간을 다 읽은 뒤에는 그 위치부터 최신순 커서로 이어 읽게 한다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeedRankingPipeline {
+
+    private final TimelineService timelineService;
+    private final PostRepository postRepository;
+    private final LikeRepository likeRepository;
+    private final List<FeedScorer> scorers;
+    private final MeterRegistry meterRegistry;
+
+    // 랭킹할 최신 후보 수
+    @Value("${feed.ranking.candidate-limit:200}")
+    private int candidateLimit;
+
+    @Value("${feed.ranking.budget-ms:50}")
+    private long budgetMs;
+
+    // 같은 작성자의 게시물이 연속으로 나올 수 있는 최대 개수
+    @Value("${feed.ranking.max-consecutive-per-author:2}")
+    private int maxConsecutivePerAuthor;
+
+    public RankedFeed rank(Long viewerId) {
+        StageTimer timer = new StageTimer();
+
+        // 1. 후보 조회 (타임라인 + 유명 계정, 최신순)
+        List<Long> postIds = timelineService.getPostIds(viewerId, Cursor.first(), candidateLimit);
+        List<Post> candidates = postRepository.findAllWithUserInOrder(postIds);
+        timer.lap("retrieve");
+
+        boolean hasMore = postIds.size() >= candidateLimit;
+        return new RankedFeed(order(viewerId, candidates, timer), tail(candidates), hasMore);
+    }
+
+    private List<Post> order(Long viewerId, List<Post> candidates, StageTimer timer) {
+        if (candidates.size() <= 1 || timer.isExceeded()) {
+            return timer.finish(candidates, candidates);
+        }
+
+        // 2. 피처 채우기
+        List<FeedCandidate> features = hydrate(viewerId, candidates);
+        timer.lap("hydrate");
+        if (timer.isExceeded()) {
+            return timer.finish(candidates, candidates);
+        }
+
+        // 3. 점수
+        for (FeedCandidate candidate : features) {
+            candidate.setScore(scorers.stream()
+                    .mapToDouble(scorer -> scorer.score(candidate))
+                    .sum());
+        }
+        features.sort(Comparator.comparingDouble(FeedCandidate::getScore).reversed());
+        timer.lap("score");
+        if (timer.isExceeded()) {
+            return timer.finish(candidates, candidates);
+        }
+
+        // 4. 작성자 다양성
+        List<Post> ranked = diversify(features);
+        timer.lap("diversify");
+
+        return timer.finish(candidates, ranked);
+    }
+
+    // 최신순 후보의 마지막 게시물 위치 (후보가 없으면 처음부터)
+    private static Cursor tail(List<Post> candidates) {
+        if (candidates.isEmpty()) {
+            return Cursor.first();
+        }
+        Post last = candidates.get(candidates.size() - 1);
+        return new Cursor(last.getCreatedAt(), last.getId());
+    }
+
+    private List<FeedCandidate> hydrate(Long viewerId, List<Post> posts) {
+        List<Long> authorIds = posts.stream()
+                .map(post -> post.getUser().getId())
+                .distinct()
+                .toList();
+
+        Map<Long, Long> affinity = likeRepository.countLikesByAuthor(viewerId, authorIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<FeedCandidate> candidates = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            FeedCandidate candidate = new FeedCandidate(post);
+            candidate.setAgeHours(Duration.between(post.getCreatedAt(), now).toMillis() / 3_600_000.0);
+            candidate.setAuthorAffinity(affinity.getOrDefault(post.getUser().getId(), 0L));
+            candidates.add(candidate);
+        }
+        return candidates;
+    }
+
+    // 점수 순서를 최대한 유지하면서 같은 작성자가 연속으로 몰리지 않게 재배치
+    private List<Post> diversify(List<FeedCandidate> sorted) {
+        List<FeedCandidate> remaining = new ArrayList<>(sorted);
+        List<Post> result = new ArrayList<>(sorted.size());
+
+        while (!remaining.isEmpty()) {
+            int pick = 0;
+            for (int i = 0; i < remaining.size(); i++) {
+                if (!repeatsAuthor(result, remaining.get(i).getAuthorId())) {
+                    pick = i;
+                    break;
+                }
+            }
+            result.add(remaining.remove(pick).getPost());
+        }
+        return result;
+    }
+
+    private boolean repeatsAuthor(List<Post> result, Long authorId) {
+        if (result.size() < maxConsecutivePerAuthor) {
+            return false;
+        }
+        for (int i = result.size() - maxConsecutivePerAuthor; i < result.size(); i++) {
+            if (!result.get(i).getUser().getId().equals(authorId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 정렬된 후보, 후보 구간에서 가장 오래된 게시물 위치, 그 뒤에 게시물이 더 있을 수 있는지
+    public record RankedFeed(List<Post> posts, Cursor tail, boolean hasMore) {
+    }
+
+    // 단계별 소요 시간 측정 (단계마다 타이머에 기록하고, 끝날 때 예산 초과 여부를 센다)
+    private class StageTimer {
+        private final long budgetNanos = budgetMs * 1_000_000;
+        private final long startNanos = System.nanoTime();
+        private long lapNanos = startNanos;
+        private String lastStage = "none";
+        private final StringBuilder laps = new StringBuilder();
+
+        void lap(String stage) {
+            long now = System.nanoTime();
+            meterRegistry.timer("feed.ranking.stage", "stage", stage).record(now - lapNanos, TimeUnit.NANOSECONDS);
+            laps.append(stage).append('=').append((now - lapNanos) / 1_000).append("us ");
+            lapNanos = now;
+            lastStage = stage;
+        }
+
+        boolean isExceeded() {
+            return System.nanoTime() - startNanos > budgetNanos;
+        }
+
+        // 예산 초과 시 최신순 후보로 대체 (초과한 시점까지 끝난 마지막 단계를 태그로 남김)
+        List<Post> finish(List<Post> chronological, List<Post> ranked) {
+            boolean exceeded = isExceeded();
+            meterRegistry.timer("feed.ranking", "result", exceeded ? "fallback" : "ranked")
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            if (exceeded) {
+                meterRegistry.counter("feed.ranking.budget.exceeded", "stage", lastStage).increment();
+                log.warn("피드 랭킹 예산 초과, 최신순으로 대체: {}", laps);
+                return chronological;
+            }
+            log.debug("피드 랭킹: {}", laps);
+            return ranked;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.instagram.service;
+
+// 피드 랭킹 점수 단계 (빈으로 등록된 구현의 점수를 모두 합산)
+public interface FeedScorer {
+    double score(FeedCandidate candidate);
+}
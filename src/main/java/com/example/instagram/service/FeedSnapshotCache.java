@@ -0,0 +1,79 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.request.Cursor;
+import com.example.instagram.entity.Post;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 랭킹 피드 스냅샷 보관 (스냅샷 ID -> 조회자, 정렬된 게시물 ID, 후보 구간의 마지막 위치)
+// 피드를 처음 열 때 한 번 정렬해두고 이후 페이지는 같은 순서에서 위치만 옮겨 읽는다
+// 최대 개수를 넘으면 가장 오래 안 쓴 항목부터, TTL 이 지나면 조회 시점에 버린다
+@Component
+public class FeedSnapshotCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    // 접근 순서 LinkedHashMap (LRU)
+    private final LinkedHashMap<Long, Snapshot> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public FeedSnapshotCache(@Value("${feed.ranking.snapshot-max-entries:10000}") int maxEntries,
+                             @Value("${feed.ranking.snapshot-ttl-ms:1800000}") long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000;
+    }
+
+    // 재기동 후에도 이전 커서와 겹치지 않도록 임의의 ID 사용
+    public Snapshot put(Long viewerId, FeedRankingPipeline.RankedFeed feed) {
+        long[] postIds = feed.posts().stream().mapToLong(Post::getId).toArray();
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+
+        Snapshot snapshot = new Snapshot(id, viewerId, postIds, feed.tail(), feed.hasMore(), System.nanoTime());
+        synchronized (this) {
+            entries.put(id, snapshot);
+            Iterator<Long> iterator = entries.keySet().iterator();
+            while (entries.size() > maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        return snapshot;
+    }
+
+    // 없거나, 만료됐거나, 다른 사용자의 스냅샷이면 null
+    public synchronized Snapshot get(long id, Long viewerId) {
+        Snapshot snapshot = entries.get(id);
+        if (snapshot == null) {
+            return null;
+        }
+        if (System.nanoTime() - snapshot.createdNanos >= ttlNanos) {
+            entries.remove(id);
+            return null;
+        }
+        return snapshot.viewerId.equals(viewerId) ? snapshot : null;
+    }
+
+    // 정렬된 후보 구간 (불변)
+    // tail 은 후보 구간에서 가장 오래된 게시물 위치, hasMore 는 그 뒤에 게시물이 더 있을 수 있는지
+    public record Snapshot(long id, Long viewerId, long[] postIds, Cursor tail, boolean hasMore, long createdNanos) {
+
+        public int size() {
+            return postIds.length;
+        }
+
+        public List<Long> slice(int offset, int limit) {
+            int from = Math.min(offset, postIds.length);
+            int to = (int) Math.min((long) offset + limit, postIds.length);
+            return Arrays.stream(postIds, from, to).boxed().toList();
+        }
+    }
+}
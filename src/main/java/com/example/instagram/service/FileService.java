@@ -3,6 +3,16 @@ package com.example.instagram.service;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface FileService {
-    String saveFile(MultipartFile file);
+    // 트랜잭션 밖에서 호출: 임시 파일로 받으면서 해시 계산, 이미지 형식 확인 (DB 사용 없음), 파일이 없으면 null
+    StagedFile stage(MultipartFile file);
+
+    // 짧은 트랜잭션 안에서 호출: 참조 수를 기록하고 저장 위치로 옮긴 뒤 파일 이름 반환 (같은 내용이면 기존 파일을 참조)
+    String store(StagedFile staged);
+
+    // store 전에 실패한 경우 임시 파일 삭제
+    void discard(StagedFile staged);
+
+    // 게시물 삭제, 프로필 이미지 교체 시 참조 해제 ("/uploads/..." 경로)
+    void release(String url);
 
 }
@@ -2,58 +2,169 @@ package com.example.instagram.service;
 
 import com.example.instagram.exception.BusinessException;
 import com.example.instagram.exception.ErrorCode;
-import org.codehaus.groovy.control.ProcessingUnit;
+import com.example.instagram.repository.StoredFileRepository;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.UUID;
+import java.util.Locale;
 
 
 @Service
+@RequiredArgsConstructor
 public class FileServiceImpl implements FileService {
 
-    @Value("${file.upload-dir}")
-    private String uploadDir;
+    public static final String URL_PREFIX = "/uploads/";
+
+    // 업로드 중인 파일을 두는 하위 디렉터리 (완성되면 같은 파일시스템 안에서 이동)
+    public static final String TEMP_DIR = ".tmp";
 
-    private static final List<String> ALLOWED_EXTENSIONS =
+    // FileChannel 로 한 번에 옮길 최대 바이트
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+
+    public static final List<String> ALLOWED_EXTENSIONS =
             Arrays.asList(".jpg", ".jpeg", ".png", ".gif");
 
+    private final StoredFileRepository storedFileRepository;
+    private final ImageDerivativeService imageDerivativeService;
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    // 내용을 한 번만 읽으면서 임시 파일에 쓰고 해시를 계산
     @Override
-    public String saveFile(MultipartFile file) {
-        try {
-            if (file == null || file.isEmpty()) {
-                return null;
-            }
+    public StagedFile stage(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            return null;
+        }
 
-            String originalFilename = file.getOriginalFilename();
-            String extension = getExtension(originalFilename);
+        String extension = getExtension(file.getOriginalFilename()).toLowerCase(Locale.ROOT);
+        if (!ALLOWED_EXTENSIONS.contains(extension)) {
+            throw new BusinessException(ErrorCode.INVALID_FILE_TYPE);
+        }
+
+        Path temp = null;
+        try {
+            Path tempPath = Paths.get(uploadDir).resolve(TEMP_DIR);
+            Files.createDirectories(tempPath);
+            temp = Files.createTempFile(tempPath, "upload-", ".part");
 
-            if (!ALLOWED_EXTENSIONS.contains(extension.toLowerCase())) {
-                throw new RuntimeException("Invalid file extension");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                 ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                size = transfer(source, target);
             }
 
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            // 확장자만 바꾼 파일 거부 (실제 이미지 형식인지 헤더로 확인)
+            if (!isImage(temp)) {
+                throw new BusinessException(ErrorCode.INVALID_FILE_TYPE);
             }
 
-            String savedFileName = UUID.randomUUID() + extension;
+            StagedFile staged = new StagedFile(temp, HexFormat.of().formatHex(digest.digest()), extension, size);
+            temp = null;
+            return staged;
 
-            Path filePath = uploadPath.resolve(savedFileName); // uploads/78132ghf-1789ghfa.jpg
-            Files.copy(file.getInputStream(), filePath);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new BusinessException(ErrorCode.INVALID_FILE_TYPE);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
 
-            return savedFileName;
+    // 같은 내용의 파일이 이미 있으면 임시 파일만 지우고 기존 파일을 참조한다
+    @Override
+    @Transactional
+    public String store(StagedFile staged) {
+        if (staged == null) {
+            return null;
+        }
 
+        storedFileRepository.acquire(staged.hash(), staged.fileName(), staged.size());
+        String fileName = storedFileRepository.findFileNameByHash(staged.hash()).orElse(staged.fileName());
+
+        try {
+            // 이미 저장된 내용이면 쓰지 않음 (동시에 같은 파일이 올라와도 내용이 같으므로 교체해도 무방)
+            Path stored = Paths.get(uploadDir).resolve(fileName);
+            if (Files.exists(stored)) {
+                Files.delete(staged.temp());
+            } else {
+                Files.move(staged.temp(), stored, StandardCopyOption.ATOMIC_MOVE);
+            }
         } catch (IOException e) {
+            discard(staged);
             throw new BusinessException(ErrorCode.INVALID_FILE_TYPE);
         }
+
+        // 화면별 축소본은 백그라운드에서 생성 (그동안은 원본으로 응답)
+        imageDerivativeService.submit(fileName);
+        return fileName;
+    }
+
+    @Override
+    public void discard(StagedFile staged) {
+        if (staged != null) {
+            deleteQuietly(staged.temp());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) {
+            return;
+        }
+        // 참조가 0 이 된 파일은 정리 작업이 지운다 (이전 UUID 파일은 행이 없어 무시됨)
+        storedFileRepository.release(url.substring(URL_PREFIX.length()));
+    }
+
+    private long transfer(ReadableByteChannel source, FileChannel target) throws IOException {
+        long position = 0;
+        while (true) {
+            long transferred = target.transferFrom(source, position, TRANSFER_CHUNK);
+            if (transferred <= 0) {
+                return position;
+            }
+            position += transferred;
+        }
+    }
+
+    private boolean isImage(Path path) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            return input != null && ImageIO.getImageReaders(input).hasNext();
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 임시 디렉터리에 남은 파일은 이후 업로드에 영향 없음
+        }
     }
 
     private String getExtension(String filename) {
@@ -62,4 +173,4 @@ public class FileServiceImpl implements FileService {
         }
         return filename.substring(filename.lastIndexOf("."));
     }
-}
\ No newline at end of file
+}
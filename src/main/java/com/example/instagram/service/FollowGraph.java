@@ -0,0 +1,411 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.FollowRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 메모리 팔로우 그래프 인덱스
+// 정방향(팔로워 -> 팔로잉)과 역방향(팔로잉 -> 팔로워)을 CSR(정렬된 long[]) 로 보관하고,
+// 기동 이후의 변경은 노드별 추가/삭제 배열에 쌓았다가 주기적으로 CSR 에 합친다
+// 로딩 전에는 FollowRepository 로 조회한다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FollowGraph {
+
+    private static final long[] EMPTY = new long[0];
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final FollowRepository followRepository;
+
+    // 변경분이 이 개수를 넘으면 CSR 재구성
+    @Value("${follow.graph.compaction-threshold:4096}")
+    private int compactionThreshold;
+
+    private final Adjacency forward = new Adjacency();
+    private final Adjacency reverse = new Adjacency();
+
+    private volatile boolean ready = false;
+
+    public boolean isFollowing(Long followerId, Long followingId) {
+        if (!ready) {
+            return followRepository.existsByFollowerIdAndFollowingId(followerId, followingId);
+        }
+        return forward.contains(followerId, followingId);
+    }
+
+    public long followingCount(Long userId) {
+        if (!ready) {
+            return followRepository.countByFollowerId(userId);
+        }
+        return forward.degree(userId);
+    }
+
+    public long followerCount(Long userId) {
+        if (!ready) {
+            return followRepository.countByFollowingId(userId);
+        }
+        return reverse.degree(userId);
+    }
+
+    // 팔로잉 ID (오름차순)
+    public long[] following(Long userId) {
+        if (!ready) {
+            return toSortedArray(followRepository.findFollowingIdsByFollowerId(userId));
+        }
+        return forward.neighbors(userId);
+    }
+
+    // 팔로워 ID (오름차순)
+    public long[] followers(Long userId) {
+        if (!ready) {
+            return toSortedArray(followRepository.findFollowerIdsByFollowingId(userId));
+        }
+        return reverse.neighbors(userId);
+    }
+
+    // 팔로워 수가 기준 이상인 사용자
+    public long[] usersWithFollowersAtLeast(long threshold) {
+        if (!ready) {
+            return toSortedArray(followRepository.findFollowingIdsHavingFollowersAtLeast(threshold));
+        }
+        return reverse.nodesWithDegreeAtLeast(threshold);
+    }
+
+    // 커밋 이후에 호출
+    public synchronized void follow(long followerId, long followingId) {
+        forward.add(followerId, followingId);
+        reverse.add(followingId, followerId);
+    }
+
+    public synchronized void unfollow(long followerId, long followingId) {
+        forward.remove(followerId, followingId);
+        reverse.remove(followingId, followerId);
+    }
+
+    // 다른 ApplicationReadyEvent 리스너(유명 계정 갱신 등)보다 먼저 로딩
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        LongList followerIds = new LongList();
+        LongList followingIds = new LongList();
+        long lastId = 0;
+
+        while (true) {
+            List<Object[]> batch = followRepository.findEdgesAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (Object[] row : batch) {
+                lastId = (Long) row[0];
+                followerIds.add((Long) row[1]);
+                followingIds.add((Long) row[2]);
+            }
+        }
+
+        Csr forwardBase = Csr.build(followerIds.values, followingIds.values, followerIds.size);
+        Csr reverseBase = Csr.build(followingIds.values, followerIds.values, followerIds.size);
+
+        // 로딩 중에 들어온 변경분은 유지한 채 기준 CSR 만 교체
+        synchronized (this) {
+            forward.replaceBase(forwardBase);
+            reverse.replaceBase(reverseBase);
+            ready = true;
+        }
+        log.info("팔로우 그래프 로딩: 간선 {}개", followerIds.size);
+    }
+
+    @Scheduled(fixedDelayString = "${follow.graph.compaction-interval-ms:60000}")
+    public synchronized void compact() {
+        if (!ready) {
+            return;
+        }
+        if (forward.pendingSize() + reverse.pendingSize() < compactionThreshold) {
+            return;
+        }
+        forward.compact();
+        reverse.compact();
+    }
+
+    private static long[] toSortedArray(List<Long> ids) {
+        long[] values = ids.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(values);
+        return values;
+    }
+
+    // 한 방향의 인접 리스트: 불변 CSR + 노드별 변경분
+    // 쓰기는 FollowGraph 의 락 안에서만, 읽기는 락 없이 state 를 한 번 읽어 사용
+    private static final class Adjacency {
+
+        private volatile State state = new State(Csr.EMPTY, new ConcurrentHashMap<>());
+
+        boolean contains(long node, long target) {
+            State current = state;
+            Delta delta = current.deltas.get(node);
+            if (delta != null) {
+                if (Arrays.binarySearch(delta.added, target) >= 0) {
+                    return true;
+                }
+                if (Arrays.binarySearch(delta.removed, target) >= 0) {
+                    return false;
+                }
+            }
+            return current.base.contains(node, target);
+        }
+
+        long degree(long node) {
+            State current = state;
+            long degree = current.base.degree(node);
+            Delta delta = current.deltas.get(node);
+            if (delta == null) {
+                return degree;
+            }
+            for (long target : delta.added) {
+                if (!current.base.contains(node, target)) {
+                    degree++;
+                }
+            }
+            for (long target : delta.removed) {
+                if (current.base.contains(node, target)) {
+                    degree--;
+                }
+            }
+            return degree;
+        }
+
+        long[] neighbors(long node) {
+            State current = state;
+            long[] base = current.base.neighbors(node);
+            Delta delta = current.deltas.get(node);
+            if (delta == null) {
+                return base;
+            }
+
+            // 정렬된 기준 목록과 추가 목록을 병합하면서 삭제 목록은 제외
+            LongList merged = new LongList();
+            int i = 0;
+            int j = 0;
+            while (i < base.length || j < delta.added.length) {
+                long next;
+                if (j >= delta.added.length || (i < base.length && base[i] < delta.added[j])) {
+                    next = base[i++];
+                } else if (i >= base.length || delta.added[j] < base[i]) {
+                    next = delta.added[j++];
+                } else {
+                    next = base[i++];
+                    j++;
+                }
+                if (Arrays.binarySearch(delta.removed, next) < 0) {
+                    merged.add(next);
+                }
+            }
+            return merged.toArray();
+        }
+
+        long[] nodesWithDegreeAtLeast(long threshold) {
+            State current = state;
+            LongList result = new LongList();
+            for (long node : current.base.nodes) {
+                if (degree(node) >= threshold) {
+                    result.add(node);
+                }
+            }
+            for (Long node : current.deltas.keySet()) {
+                if (current.base.indexOf(node) < 0 && degree(node) >= threshold) {
+                    result.add(node);
+                }
+            }
+            long[] values = result.toArray();
+            Arrays.sort(values);
+            return values;
+        }
+
+        void add(long node, long target) {
+            state.deltas.compute(node, (key, delta) ->
+                    (delta == null ? Delta.NONE : delta).withAdded(target));
+        }
+
+        void remove(long node, long target) {
+            state.deltas.compute(node, (key, delta) ->
+                    (delta == null ? Delta.NONE : delta).withRemoved(target));
+        }
+
+        int pendingSize() {
+            int size = 0;
+            for (Delta delta : state.deltas.values()) {
+                size += delta.added.length + delta.removed.length;
+            }
+            return size;
+        }
+
+        void replaceBase(Csr base) {
+            state = new State(base, state.deltas);
+        }
+
+        // 기준 CSR + 변경분을 새 CSR 로 합친다
+        void compact() {
+            State current = state;
+            LongList sources = new LongList();
+            LongList targets = new LongList();
+
+            for (long node : current.base.nodes) {
+                if (!current.deltas.containsKey(node)) {
+                    for (long target : current.base.neighbors(node)) {
+                        sources.add(node);
+                        targets.add(target);
+                    }
+                }
+            }
+            for (Long node : current.deltas.keySet()) {
+                for (long target : neighbors(node)) {
+                    sources.add(node);
+                    targets.add(target);
+                }
+            }
+
+            state = new State(Csr.build(sources.values, targets.values, sources.size), new ConcurrentHashMap<>());
+        }
+    }
+
+    private record State(Csr base, Map<Long, Delta> deltas) {
+    }
+
+    // 노드별 변경분 (둘 다 정렬, 서로 겹치지 않음)
+    private record Delta(long[] added, long[] removed) {
+
+        static final Delta NONE = new Delta(EMPTY, EMPTY);
+
+        Delta withAdded(long target) {
+            Delta delta = new Delta(insert(added, target), delete(removed, target));
+            return delta.isEmpty() ? null : delta;
+        }
+
+        Delta withRemoved(long target) {
+            Delta delta = new Delta(delete(added, target), insert(removed, target));
+            return delta.isEmpty() ? null : delta;
+        }
+
+        boolean isEmpty() {
+            return added.length == 0 && removed.length == 0;
+        }
+
+        private static long[] insert(long[] values, long value) {
+            int index = Arrays.binarySearch(values, value);
+            if (index >= 0) {
+                return values;
+            }
+            int position = -index - 1;
+            long[] result = new long[values.length + 1];
+            System.arraycopy(values, 0, result, 0, position);
+            result[position] = value;
+            System.arraycopy(values, position, result, position + 1, values.length - position);
+            return result;
+        }
+
+        private static long[] delete(long[] values, long value) {
+            int index = Arrays.binarySearch(values, value);
+            if (index < 0) {
+                return values;
+            }
+            long[] result = new long[values.length - 1];
+            System.arraycopy(values, 0, result, 0, index);
+            System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+            return result;
+        }
+    }
+
+    // Compressed Sparse Row: 정렬된 노드 배열 + 오프셋 + 노드별로 정렬된 이웃 배열
+    private static final class Csr {
+
+        static final Csr EMPTY = new Csr(new long[0], new int[1], new long[0]);
+
+        final long[] nodes;
+        final int[] offsets;
+        final long[] edges;
+
+        private Csr(long[] nodes, int[] offsets, long[] edges) {
+            this.nodes = nodes;
+            this.offsets = offsets;
+            this.edges = edges;
+        }
+
+        static Csr build(long[] sources, long[] targets, int size) {
+            long[] sorted = Arrays.copyOf(sources, size);
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinct == 0 || sorted[distinct - 1] != sorted[i]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            long[] nodes = Arrays.copyOf(sorted, distinct);
+
+            int[] offsets = new int[nodes.length + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[Arrays.binarySearch(nodes, sources[i]) + 1]++;
+            }
+            for (int i = 0; i < nodes.length; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+
+            int[] positions = Arrays.copyOf(offsets, nodes.length);
+            long[] edges = new long[size];
+            for (int i = 0; i < size; i++) {
+                edges[positions[Arrays.binarySearch(nodes, sources[i])]++] = targets[i];
+            }
+            for (int i = 0; i < nodes.length; i++) {
+                Arrays.sort(edges, offsets[i], offsets[i + 1]);
+            }
+            return new Csr(nodes, offsets, edges);
+        }
+
+        int indexOf(long node) {
+            return Arrays.binarySearch(nodes, node);
+        }
+
+        boolean contains(long node, long target) {
+            int index = indexOf(node);
+            return index >= 0 && Arrays.binarySearch(edges, offsets[index], offsets[index + 1], target) >= 0;
+        }
+
+        int degree(long node) {
+            int index = indexOf(node);
+            return index < 0 ? 0 : offsets[index + 1] - offsets[index];
+        }
+
+        long[] neighbors(long node) {
+            int index = indexOf(node);
+            return index < 0 ? FollowGraph.EMPTY : Arrays.copyOfRange(edges, offsets[index], offsets[index + 1]);
+        }
+    }
+
+    // 박싱 없는 가변 long 배열
+    private static final class LongList {
+        long[] values = new long[16];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
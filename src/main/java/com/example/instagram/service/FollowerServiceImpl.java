@@ -8,6 +8,8 @@ import com.example.instagram.repository.FollowRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
 
@@ -18,6 +20,8 @@ public class FollowerServiceImpl implements FollowService {
 
     private final UserService userService;
     private final FollowRepository followRepository;
+    private final TimelineService timelineService;
+    private final FollowGraph followGraph;
 
     @Override
     @Transactional
@@ -34,6 +38,8 @@ public class FollowerServiceImpl implements FollowService {
         // follow toggle
         if (existingFollow.isPresent()) {
             followRepository.delete(existingFollow.get());
+            timelineService.unfollow(follower.getId(), following.getId());
+            afterCommit(() -> followGraph.unfollow(follower.getId(), following.getId()));
         } else {
 
             Follow follow = Follow.builder()
@@ -42,22 +48,35 @@ public class FollowerServiceImpl implements FollowService {
                     .build();
 
             followRepository.save(follow);
+            timelineService.follow(follower.getId(), following.getId());
+            afterCommit(() -> followGraph.follow(follower.getId(), following.getId()));
         }
 
     }
 
+    // 조회는 메모리 팔로우 그래프에서
     @Override
     public boolean isFollowing(Long followerId, Long followingId) {
-        return followRepository.existsByFollowerIdAndFollowingId(followerId, followingId);
+        return followGraph.isFollowing(followerId, followingId);
     }
 
     @Override
     public long countByFollowerId(Long followerId) {
-        return followRepository.countByFollowerId(followerId);
+        return followGraph.followingCount(followerId);
     }
 
     @Override
     public long countByFollowingId(Long followingId) {
-        return followRepository.countByFollowingId(followingId);
+        return followGraph.followerCount(followingId);
+    }
+
+    // 롤백된 변경이 그래프에 반영되지 않도록 커밋 후 적용
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
@@ -0,0 +1,65 @@
+package com.example.instagram.service;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 게시물 본문에서 #태그 추출
+// 글자/숫자/밑줄로 이루어진 단어만 태그로 보고, 단어 중간의 #(예: abc#def, &#39;)은 무시한다
+public final class HashtagExtractor {
+
+    // 게시물 하나에 저장할 최대 태그 수
+    public static final int MAX_TAGS = 30;
+
+    public static final int MAX_TAG_LENGTH = 100;
+
+    private static final Pattern HASHTAG = Pattern.compile("(?<![\\p{L}\\p{N}_&])#([\\p{L}\\p{M}\\p{N}_]+)");
+
+    private HashtagExtractor() {
+    }
+
+    // 정규화된 태그 (등장 순서, 중복 제거)
+    public static Set<String> extract(String content) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (content == null || content.indexOf('#') < 0) {
+            return tags;
+        }
+
+        Matcher matcher = HASHTAG.matcher(content);
+        while (matcher.find() && tags.size() < MAX_TAGS) {
+            String tag = normalize(matcher.group(1));
+            if (tag != null) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    // 검색/저장 공통 정규화 (앞의 # 는 떼어냄), 태그로 쓸 수 없으면 null
+    public static String normalize(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String value = tag.strip();
+        if (value.startsWith("#")) {
+            value = value.substring(1);
+        }
+        value = Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        // 숫자로만 된 태그(#1)는 사용하지 않음
+        if (value.isEmpty() || value.length() > MAX_TAG_LENGTH || value.chars().allMatch(Character::isDigit)
+                || !value.codePoints().allMatch(HashtagExtractor::isTagChar)) {
+            return null;
+        }
+        return value;
+    }
+
+    private static boolean isTagChar(int codePoint) {
+        return Character.isLetterOrDigit(codePoint) || codePoint == '_'
+                || Character.getType(codePoint) == Character.NON_SPACING_MARK
+                || Character.getType(codePoint) == Character.COMBINING_SPACING_MARK;
+    }
+}
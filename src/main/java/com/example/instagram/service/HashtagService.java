@@ -0,0 +1,22 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.request.Cursor;
+import com.example.instagram.dto.response.TrendingTagResponse;
+import com.example.instagram.entity.Post;
+
+import java.util.List;
+import java.util.Set;
+
+public interface HashtagService {
+
+    // 게시물 작성 시 본문의 #태그 색인 (저장한 태그 반환)
+    Set<String> tag(Post post);
+
+    void removePost(Long postId);
+
+    // 태그 피드 (최신순 게시물 ID), 태그가 올바르지 않으면 빈 목록
+    List<Long> getPostIds(String tag, Cursor cursor, int limit);
+
+    // 최근 1시간/24시간 인기 해시태그 (window: "1h", "24h")
+    List<TrendingTagResponse> getTrending(String window, int size);
+}
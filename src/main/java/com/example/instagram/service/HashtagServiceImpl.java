@@ -0,0 +1,158 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.request.Cursor;
+import com.example.instagram.dto.response.TrendingTagResponse;
+import com.example.instagram.entity.Post;
+import com.example.instagram.entity.PostHashtag;
+import com.example.instagram.repository.PostHashtagRepository;
+import com.example.instagram.repository.PostRepository;
+import com.example.instagram.repository.TimelineEntry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class HashtagServiceImpl implements HashtagService {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    // 작성 시점 저장과 겹친 행은 건너뜀 (uk_hashtag_tag_post)
+    private static final String REBUILD_INSERT_SQL =
+            "INSERT IGNORE INTO post_hashtags (tag, post_id, created_at) VALUES (?, ?, ?)";
+    private static final String REBUILD_DISCARD_SQL =
+            "DELETE FROM post_hashtags WHERE post_id <= ?";
+
+    private final PostHashtagRepository postHashtagRepository;
+    private final PostRepository postRepository;
+    private final HashtagTrends hashtagTrends;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 게시물 커밋 후에 호출되므로 별도 트랜잭션으로 저장
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Set<String> tag(Post post) {
+        Set<String> tags = save(post.getId(), post.getContent(), post.getCreatedAt());
+        hashtagTrends.record(tags, post.getCreatedAt());
+        return tags;
+    }
+
+    @Override
+    @Transactional
+    public void removePost(Long postId) {
+        postHashtagRepository.deleteByPostId(postId);
+    }
+
+    @Override
+    public List<Long> getPostIds(String tag, Cursor cursor, int limit) {
+        String normalized = HashtagExtractor.normalize(tag);
+        if (normalized == null) {
+            return List.of();
+        }
+
+        return postHashtagRepository.findEntriesBeforeCursor(
+                        normalized, cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, limit)).stream()
+                .map(TimelineEntry::getPostId)
+                .toList();
+    }
+
+    @Override
+    public List<TrendingTagResponse> getTrending(String window, int size) {
+        return hashtagTrends.getTop(HashtagTrends.Period.from(window), size);
+    }
+
+    // 해시태그 테이블이 새로 생긴 경우 기존 게시물로 한 번 채워둔다
+    // 기동을 막지 않도록 별도 스레드에서, 게시물 REBUILD_BATCH_SIZE 개마다 JDBC 배치 INSERT 후 커밋
+    // 인기 해시태그 초기화(HashtagTrends.load)가 먼저 끝난 뒤 시작하고, 백필한 태그는 여기서 기록한다
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildIfEmpty() {
+        if (postHashtagRepository.count() > 0) {
+            return;
+        }
+
+        long maxPostId = postRepository.findMaxId();
+        Thread.ofVirtual().name("hashtag-rebuild").start(() -> rebuild(maxPostId));
+    }
+
+    private void rebuild(long maxPostId) {
+        long lastId = 0;
+        long inserted = 0;
+        try {
+            while (lastId < maxPostId) {
+                List<Object[]> batch = postRepository.findContentAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                List<Object[]> args = new ArrayList<>();
+                for (Object[] row : batch) {
+                    Long postId = (Long) row[0];
+                    if (postId > maxPostId) {
+                        break;
+                    }
+                    lastId = postId;
+                    LocalDateTime createdAt = (LocalDateTime) row[2];
+                    Set<String> tags = HashtagExtractor.extract((String) row[1]);
+                    tags.forEach(tag -> args.add(new Object[]{tag, postId, createdAt}));
+                    hashtagTrends.record(tags, createdAt);
+                }
+
+                if (!args.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(REBUILD_INSERT_SQL, args));
+                    inserted += args.size();
+                }
+                if (batch.size() < REBUILD_BATCH_SIZE) {
+                    break;
+                }
+            }
+            log.info("해시태그 백필 완료: 게시물 ID {}까지, 태그 {}건", lastId, inserted);
+        } catch (RuntimeException e) {
+            log.error("해시태그 백필 실패: 게시물 ID {}까지 처리", lastId, e);
+            discardRebuild(maxPostId);
+        }
+    }
+
+    // 일부만 채운 채로 남으면 다음 기동 때 비어 있지 않은 것으로 보이므로, 백필 범위를 지워 다시 채우게 한다
+    private void discardRebuild(long maxPostId) {
+        try {
+            jdbcTemplate.update(REBUILD_DISCARD_SQL, maxPostId);
+        } catch (RuntimeException e) {
+            log.error("해시태그 백필 정리 실패: 게시물 ID {}까지 수동으로 다시 채워야 함", maxPostId, e);
+        }
+    }
+
+    private Set<String> save(Long postId, String content, LocalDateTime createdAt) {
+        Set<String> tags = HashtagExtractor.extract(content);
+        List<PostHashtag> hashtags = tags.stream()
+                .map(tag -> PostHashtag.builder()
+                        .tag(tag)
+                        .postId(postId)
+                        .createdAt(createdAt)
+                        .build())
+                .toList();
+
+        if (!hashtags.isEmpty()) {
+            postHashtagRepository.saveAll(hashtags);
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.response.TrendingTagResponse;
+import com.example.instagram.repository.PostHashtagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 최근 1시간/24시간 인기 해시태그
+// 창마다 시간 버킷별 count-min sketch 를 돌려 쓰고, 버킷 합계 스케치에서 만료된 버킷만 빼므로
+// 태그 종류가 아무리 많아도 메모리는 (버킷 수 + 1) * 스케치 크기로 고정된다
+// 상위 후보는 크기 K 로 제한해 추적하고, 조회는 주기적으로 정렬해둔 목록을 잘라 읽는다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HashtagTrends {
+
+    private static final int SKETCH_WIDTH = 2048;
+    private static final int SKETCH_DEPTH = 4;
+
+    // 창마다 추적할 상위 후보 수
+    private static final int TOP_K = 50;
+
+    public enum Period {
+        // 5분 버킷 12개
+        HOUR(5 * 60_000L, 12),
+        // 1시간 버킷 24개
+        DAY(60 * 60_000L, 24);
+
+        private final long bucketMillis;
+        private final int bucketCount;
+
+        Period(long bucketMillis, int bucketCount) {
+            this.bucketMillis = bucketMillis;
+            this.bucketCount = bucketCount;
+        }
+
+        // "1h", "24h" (그 외는 1시간)
+        public static Period from(String value) {
+            return "24h".equalsIgnoreCase(value) ? DAY : HOUR;
+        }
+    }
+
+    private final PostHashtagRepository postHashtagRepository;
+
+    private final Map<Period, Window> windows = Map.of(
+            Period.HOUR, new Window(Period.HOUR),
+            Period.DAY, new Window(Period.DAY));
+
+    // 게시물 작성 시 호출
+    public void record(Collection<String> tags, LocalDateTime createdAt) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        long eventMillis = toMillis(createdAt);
+        long now = System.currentTimeMillis();
+        for (String tag : tags) {
+            long hash = CountMinSketch.hash(tag);
+            windows.values().forEach(window -> window.add(tag, hash, eventMillis, now));
+        }
+    }
+
+    public List<TrendingTagResponse> getTop(Period period, int limit) {
+        List<TrendingTagResponse> ranking = windows.get(period).ranking;
+        return ranking.subList(0, Math.min(limit, ranking.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${explore.hashtags.refresh-interval-ms:10000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        windows.values().forEach(window -> window.refresh(now));
+    }
+
+    // 기동 시 최근 24시간 해시태그로 채움 (해시태그 백필 시작 전에)
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public void load() {
+        long now = System.currentTimeMillis();
+        List<Object[]> rows = postHashtagRepository.findTagsCreatedAfter(LocalDateTime.now().minusDays(1));
+        for (Object[] row : rows) {
+            String tag = (String) row[0];
+            long hash = CountMinSketch.hash(tag);
+            long eventMillis = toMillis((LocalDateTime) row[1]);
+            windows.values().forEach(window -> window.add(tag, hash, eventMillis, now));
+        }
+        refresh();
+        log.info("인기 해시태그 초기화: 태그 {}건", rows.size());
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Window {
+
+        private final long bucketMillis;
+        private final CountMinSketch[] buckets;
+        // 창 안 모든 버킷의 합
+        private final CountMinSketch total = new CountMinSketch(SKETCH_WIDTH, SKETCH_DEPTH);
+        // 상위 후보 태그 -> 창 안 추정 횟수 (최대 TOP_K 개)
+        private final Map<String, Integer> candidates = new HashMap<>();
+
+        private long currentBucket;
+        private volatile List<TrendingTagResponse> ranking = List.of();
+
+        Window(Period period) {
+            this.bucketMillis = period.bucketMillis;
+            this.buckets = new CountMinSketch[period.bucketCount];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new CountMinSketch(SKETCH_WIDTH, SKETCH_DEPTH);
+            }
+            this.currentBucket = System.currentTimeMillis() / bucketMillis;
+        }
+
+        synchronized void add(String tag, long hash, long eventMillis, long now) {
+            advance(now / bucketMillis);
+
+            // 창 밖(너무 오래됐거나 미래)의 이벤트는 버림
+            long bucket = eventMillis / bucketMillis;
+            if (bucket > currentBucket || bucket <= currentBucket - buckets.length) {
+                return;
+            }
+
+            buckets[slot(bucket)].add(hash, 1);
+            total.add(hash, 1);
+            candidates.put(tag, total.estimate(hash));
+
+            // 후보가 넘치면 추정값이 가장 작은 태그를 뺌 (방금 넣은 태그일 수도 있음)
+            if (candidates.size() > TOP_K) {
+                candidates.entrySet().stream()
+                        .min(Map.Entry.comparingByValue())
+                        .ifPresent(min -> candidates.remove(min.getKey()));
+            }
+        }
+
+        synchronized void refresh(long now) {
+            advance(now / bucketMillis);
+            ranking = candidates.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(entry -> TrendingTagResponse.builder()
+                            .tag(entry.getKey())
+                            .count(entry.getValue())
+                            .build())
+                    .toList();
+        }
+
+        // 지나간 버킷을 합계에서 빼고 비움, 후보 추정값도 다시 계산
+        private void advance(long nowBucket) {
+            if (nowBucket <= currentBucket) {
+                return;
+            }
+
+            if (nowBucket - currentBucket >= buckets.length) {
+                for (CountMinSketch bucket : buckets) {
+                    bucket.clear();
+                }
+                total.clear();
+                candidates.clear();
+            } else {
+                for (long bucket = currentBucket + 1; bucket <= nowBucket; bucket++) {
+                    CountMinSketch expired = buckets[slot(bucket)];
+                    total.subtract(expired);
+                    expired.clear();
+                }
+                candidates.replaceAll((tag, count) -> total.estimate(CountMinSketch.hash(tag)));
+                candidates.values().removeIf(count -> count <= 0);
+            }
+            currentBucket = nowBucket;
+        }
+
+        private int slot(long bucket) {
+            return (int) Math.floorMod(bucket, (long) buckets.length);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.instagram.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 업로드 이미지 축소본 생성 (백그라운드)
+// 작업자 수와 대기열이 정해진 풀에서 처리하고, 대기열이 가득 차면 건너뛴다 (그동안은 원본으로 응답)
+// 건너뛴 축소본은 원본으로 대신 응답할 때 다시 넣으므로 (MediaStore), 요청되는 이미지는 결국 축소본이 생긴다
+// 원본이 매우 크면 디코딩 단계에서 건너뛰며 읽어(subsampling) 메모리를 아낀다
+@Slf4j
+@Component
+public class ImageDerivativeService {
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    // 이보다 픽셀 수가 많은 원본은 축소본을 만들지 않음 (디코딩 메모리 보호)
+    private static final long MAX_SOURCE_PIXELS = 100_000_000L;
+
+    private final String uploadDir;
+    private final ThreadPoolExecutor executor;
+
+    // 대기 중이거나 생성 중인 원본 (원본 요청이 몰려도 같은 파일을 여러 번 넣지 않도록)
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    // 축소본을 만들 수 없는 원본 (너무 크거나 읽을 수 없음, 요청마다 다시 디코딩하지 않도록)
+    private final Set<String> unsupported = ConcurrentHashMap.newKeySet();
+
+    public ImageDerivativeService(@Value("${file.upload-dir}") String uploadDir,
+                                  @Value("${image.derivative.workers:2}") int workers,
+                                  @Value("${image.derivative.queue-capacity:200}") int queueCapacity) {
+        this.uploadDir = uploadDir;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivative-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // 업로드 직후, 그리고 축소본 대신 원본으로 응답할 때 호출 (이미 만들어진 축소본은 다시 만들지 않음)
+    public void submit(String fileName) {
+        if (unsupported.contains(fileName) || !pending.add(fileName)) {
+            return;
+        }
+        Path original = Paths.get(uploadDir).resolve(fileName);
+        if (isReady(original, fileName)) {
+            pending.remove(fileName);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(original, fileName);
+                } finally {
+                    pending.remove(fileName);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(fileName);
+            log.warn("축소본 대기열이 가득 차 건너뜀 (원본 요청 시 다시 시도): {}", fileName);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean isReady(Path original, String fileName) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (!Files.exists(original.resolveSibling(variant.fileName(fileName)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void generate(Path original, String fileName) {
+        try {
+            BufferedImage source = read(original);
+            if (source == null) {
+                unsupported.add(fileName);
+                return;
+            }
+            for (ImageVariant variant : ImageVariant.values()) {
+                write(resize(source, variant), original.resolveSibling(variant.fileName(fileName)));
+            }
+        } catch (IOException | RuntimeException e) {
+            unsupported.add(fileName);
+            log.warn("축소본 생성 실패: {}", fileName, e);
+        }
+    }
+
+    // 가장 큰 축소본의 두 배 이상만 남도록 건너뛰며 디코딩
+    private BufferedImage read(Path path) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    log.warn("원본이 너무 커서 축소본을 만들지 않음: {} ({}x{})", path.getFileName(), width, height);
+                    return null;
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.min(width, height) / (ImageVariant.FEED.getSize() * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, ImageVariant variant) {
+        BufferedImage current = source;
+
+        // 정사각형 축소본은 가운데를 잘라냄
+        if (variant.isSquare()) {
+            int side = Math.min(source.getWidth(), source.getHeight());
+            current = source.getSubimage((source.getWidth() - side) / 2, (source.getHeight() - side) / 2, side, side);
+        }
+
+        // 긴 변 기준으로 줄이고, 원본보다 크게 키우지는 않음
+        double scale = Math.min(1.0, (double) variant.getSize() / Math.max(current.getWidth(), current.getHeight()));
+        int width = Math.max(1, (int) Math.round(current.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(current.getHeight() * scale));
+
+        // 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 줄여 나감
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2, BufferedImage.TYPE_INT_ARGB);
+        }
+        return draw(current, width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private BufferedImage draw(BufferedImage source, int width, int height, int type) {
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG 은 투명도가 없으므로 흰 배경 위에 그림
+            if (type == BufferedImage.TYPE_INT_RGB) {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+            }
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    // 임시 파일에 쓴 뒤 이동 (완성되기 전의 파일이 응답되지 않도록)
+    private void write(BufferedImage image, Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.instagram.service;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 업로드 이미지의 화면별 축소본
+// 원본 "abc.png" 의 축소본은 "abc-grid.jpg" 처럼 이름이 정해져 있어, 만들어지기 전에는 원본으로 대신 응답한다
+public enum ImageVariant {
+    // 프로필 사진 (정사각형)
+    AVATAR("avatar", 150, true),
+    // 탐색/프로필 그리드 타일 (정사각형)
+    GRID("grid", 320, true),
+    // 피드 카드, 상세 화면 (비율 유지)
+    FEED("feed", 1080, false);
+
+    private static final String URL_PREFIX = "/uploads/";
+    private static final String EXTENSION = ".jpg";
+    private static final Pattern DERIVATIVE = Pattern.compile("(.+)-(avatar|grid|feed)\\.jpg");
+
+    private final String suffix;
+    private final int size;
+    private final boolean square;
+
+    ImageVariant(String suffix, int size, boolean square) {
+        this.suffix = suffix;
+        this.size = size;
+        this.square = square;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isSquare() {
+        return square;
+    }
+
+    // 원본 파일 이름 -> 축소본 파일 이름
+    public String fileName(String original) {
+        int dot = original.lastIndexOf('.');
+        String base = dot < 0 ? original : original.substring(0, dot);
+        return base + "-" + suffix + EXTENSION;
+    }
+
+    // 원본 URL -> 축소본 URL (업로드 파일이 아니면 그대로)
+    public String urlOf(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) {
+            return url;
+        }
+        return URL_PREFIX + fileName(url.substring(URL_PREFIX.length()));
+    }
+
+    // 축소본 파일 이름이면 확장자를 뺀 원본 이름, 아니면 null
+    public static String originalBase(String fileName) {
+        Matcher matcher = DERIVATIVE.matcher(fileName);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+}
@@ -1,7 +1,15 @@
 package com.example.instagram.service;
 
+import com.example.instagram.dto.response.LikeResponse;
+import com.example.instagram.dto.response.UserResponse;
+
+import java.util.List;
+
 public interface LikeService {
     void toggleLike(Long postId, Long userId);
+    LikeResponse like(Long postId, Long userId);
+    LikeResponse unlike(Long postId, Long userId);
     boolean isLiked(Long postId, Long userId);
     long getLikeCount(Long postId);
+    List<UserResponse> getFollowingLikers(Long postId, Long viewerId, int limit);
 }
@@ -1,55 +1,104 @@
 package com.example.instagram.service;
 
-import com.example.instagram.entity.Like;
-import com.example.instagram.entity.Post;
+import com.example.instagram.dto.response.LikeResponse;
+import com.example.instagram.dto.response.UserResponse;
 import com.example.instagram.entity.User;
-import com.example.instagram.repository.LikeRepository;
+import com.example.instagram.exception.BusinessException;
+import com.example.instagram.exception.ErrorCode;
+import com.example.instagram.repository.PostRepository;
+import com.example.instagram.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class LikeServiceImpl implements LikeService {
 
-    private final LikeRepository likeRepository;
-    private final PostService postService;
-    private final UserService userService;
+    private final PostRepository postRepository;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final PostCounterCache postCounterCache;
+    private final LikerIndex likerIndex;
+    private final UserRepository userRepository;
+    private final TrendingEngine trendingEngine;
 
     @Override
-    @Transactional
     public void toggleLike(Long postId, Long userId) {
-        Optional<Like> existingLike = likeRepository.findByPostIdAndUserId(postId, userId);
-
-        // 좋아요가 있으면
-        if (existingLike.isPresent()) {
-            likeRepository.delete(existingLike.get());
-            // 좋아요가 없으면
-        } else {
-            Post post = postService.findById(postId);
-            User user = userService.findById(userId);
-
-            Like like = Like.builder()
-                    .post(post)
-                    .user(user)
-                    .build();
-            likeRepository.save(like);
-        }
+        validatePostExists(postId);
+
+        // DB 반영은 버퍼가 모아서 배치로 처리
+        boolean liked = likeWriteBuffer.toggle(postId, userId);
+        likerIndex.apply(postId, userId, liked);
+        postCounterCache.addLikes(postId, liked ? 1 : -1);
+        trendingEngine.onLike(postId, liked ? 1 : -1);
+    }
 
+    @Override
+    public LikeResponse like(Long postId, Long userId) {
+        return setLiked(postId, userId, true);
+    }
 
+    @Override
+    public LikeResponse unlike(Long postId, Long userId) {
+        return setLiked(postId, userId, false);
     }
 
     @Override
     public boolean isLiked(Long postId, Long userId) {
-        return likeRepository.existsByPostIdAndUserId(postId, userId);
+        // 게시물별 좋아요 비트맵 (DB 조회 없음)
+        return likerIndex.isLiked(postId, userId);
+    }
+
+    @Override
+    public List<UserResponse> getFollowingLikers(Long postId, Long viewerId, int limit) {
+        if (viewerId == null) {
+            return List.of();
+        }
+
+        List<Long> userIds = likerIndex.findFollowingLikers(postId, viewerId, limit);
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return userIds.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(UserResponse::from)
+                .toList();
     }
 
     @Override
     public long getLikeCount(Long postId) {
-        return likeRepository.countByPostId(postId);
+        // 메모리 카운터 (처음 접근 시에만 posts.like_count 조회)
+        return postCounterCache.likeCount(postId);
     }
 
-}
\ No newline at end of file
+    // 이미 원하는 상태면 아무것도 바꾸지 않음 (중복 요청에도 카운트가 한 번만 변한다)
+    private LikeResponse setLiked(Long postId, Long userId, boolean liked) {
+        validatePostExists(postId);
+
+        if (likeWriteBuffer.set(postId, userId, liked)) {
+            likerIndex.apply(postId, userId, liked);
+            postCounterCache.addLikes(postId, liked ? 1 : -1);
+            trendingEngine.onLike(postId, liked ? 1 : -1);
+        }
+
+        return LikeResponse.builder()
+                .postId(postId)
+                .liked(liked)
+                .likeCount(getLikeCount(postId))
+                .build();
+    }
+
+    private void validatePostExists(Long postId) {
+        if (!postRepository.existsById(postId)) {
+            throw new BusinessException(ErrorCode.POST_NOT_FOUND);
+        }
+    }
+}
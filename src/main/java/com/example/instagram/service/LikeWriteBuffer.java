@@ -0,0 +1,333 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.LikeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+// 좋아요 쓰기 버퍼 (write-behind)
+// 토글은 게시물 ID 기준 스트라이프에 즉시 반영하고, 같은 사용자의 반복 토글은 최종 상태 하나로 합친다
+// 주기적으로 DB 상태와 달라진 항목만 JDBC 배치로 반영하며, 종료 시에도 남은 항목을 flush 한다
+// (post_id, user_id) 유니크 인덱스 덕분에 INSERT IGNORE / DELETE 한 문장씩으로 중복 없이 반영된다
+// 좋아요 수는 PostCounterCache 가 따로 관리한다
+@Slf4j
+@Component
+public class LikeWriteBuffer {
+
+    // 버퍼에 없는 항목은 스트라이프 락을 잡은 채 DB 를 조회하므로, 서로 다른 게시물끼리 덜 기다리도록 넉넉히 나눈다
+    private static final int STRIPE_COUNT = 64;
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO post_likes (post_id, user_id, created_at, updated_at) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_SQL =
+            "DELETE FROM post_likes WHERE post_id = ? AND user_id = ?";
+
+    private final LikeRepository likeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer flushTimer;
+
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public LikeWriteBuffer(LikeRepository likeRepository,
+                           JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry) {
+        this.likeRepository = likeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        Gauge.builder("likes.buffer.queue.depth", this, LikeWriteBuffer::queueDepth)
+                .description("flush 대기 중인 좋아요 변경 수")
+                .register(meterRegistry);
+        Gauge.builder("likes.buffer.flush.lag", this, LikeWriteBuffer::flushLagSeconds)
+                .description("가장 오래된 미반영 변경의 대기 시간(초)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("likes.buffer.flush")
+                .description("좋아요 배치 flush 소요 시간")
+                .register(meterRegistry);
+    }
+
+    // 좋아요 상태를 뒤집고 새 상태를 반환
+    public boolean toggle(Long postId, Long userId) {
+        return !update(postId, userId, current -> !current);
+    }
+
+    // 좋아요 상태를 지정한 값으로 맞추고 실제로 바뀌었는지 반환 (같은 요청을 반복해도 결과 동일)
+    public boolean set(Long postId, Long userId, boolean liked) {
+        return update(postId, userId, current -> liked) != liked;
+    }
+
+    // 현재 상태(버퍼 우선, 없으면 DB)에 next 를 적용하고 이전 상태를 반환
+    // 상태 확인부터 기록까지 스트라이프 락 하나 안에서 처리한다
+    // flush 는 in-flight 항목을 DB 에 반영한 뒤에 이 락을 잡고 지우므로, 버퍼에 없는 항목의 DB 값은 조회 중에 바뀌지 않는다
+    // (락을 풀고 조회하면 그 사이 끝난 flush 때문에 낡은 값을 기준으로 토글할 수 있다)
+    private boolean update(Long postId, Long userId, UnaryOperator<Boolean> next) {
+        Stripe stripe = stripeOf(postId);
+
+        stripe.lock.lock();
+        try {
+            Boolean current = stripe.stateOf(postId, userId);
+            boolean base = current != null
+                    ? current
+                    : likeRepository.existsByPostIdAndUserId(postId, userId);
+            stripe.put(postId, userId, base, next.apply(base));
+            return base;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // 아직 DB 에 반영되지 않은 상태 (없으면 null)
+    public Boolean pendingState(Long postId, Long userId) {
+        Stripe stripe = stripeOf(postId);
+        stripe.lock.lock();
+        try {
+            return stripe.stateOf(postId, userId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // 게시물 하나의 미반영 상태 전체 (userId -> 좋아요 여부)
+    public Map<Long, Boolean> pendingStates(Long postId) {
+        Stripe stripe = stripeOf(postId);
+        Map<Long, Boolean> states = new HashMap<>();
+        stripe.lock.lock();
+        try {
+            stripe.inFlight.getOrDefault(postId, Map.of()).forEach((userId, value) -> states.put(userId, value.desired));
+            stripe.pending.getOrDefault(postId, Map.of()).forEach((userId, value) -> states.put(userId, value.desired));
+        } finally {
+            stripe.lock.unlock();
+        }
+        return states;
+    }
+
+    // DB 에서 읽은 좋아요 게시물 목록에 미반영 상태를 덮어씀
+    public void overlay(Long userId, Collection<Long> postIds, Set<Long> likedPostIds) {
+        for (Long postId : postIds) {
+            Boolean pending = pendingState(postId, userId);
+            if (pending != null) {
+                if (pending) {
+                    likedPostIds.add(postId);
+                } else {
+                    likedPostIds.remove(postId);
+                }
+            }
+        }
+    }
+
+    // 삭제된 게시물의 미반영 변경은 버림
+    public void discard(Long postId) {
+        Stripe stripe = stripeOf(postId);
+        stripe.lock.lock();
+        try {
+            stripe.pending.remove(postId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${like.buffer.flush-interval-ms:200}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushTimer.record(this::flushStripes);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        log.info("좋아요 버퍼 종료 flush 완료 (남은 변경 {}건)", (long) queueDepth());
+    }
+
+    private void flushStripes() {
+        for (Stripe stripe : stripes) {
+            List<Change> changes;
+
+            // 대기 목록을 in-flight 로 옮김 (반영 전까지는 in-flight 로 조회됨)
+            stripe.lock.lock();
+            try {
+                if (stripe.pending.isEmpty()) {
+                    continue;
+                }
+                stripe.inFlight = stripe.pending;
+                stripe.pending = new HashMap<>();
+                changes = stripe.changesInFlight();
+            } finally {
+                stripe.lock.unlock();
+            }
+
+            try {
+                if (!changes.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> write(changes));
+                }
+                clearInFlight(stripe, false);
+            } catch (RuntimeException e) {
+                log.error("좋아요 flush 실패, 다음 주기에 재시도: {}건", changes.size(), e);
+                clearInFlight(stripe, true);
+            }
+        }
+    }
+
+    private void write(List<Change> changes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Change> inserts = changes.stream().filter(change -> change.liked).toList();
+        List<Change> deletes = changes.stream().filter(change -> !change.liked).toList();
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts.stream()
+                .map(change -> new Object[]{change.postId, change.userId, now, now})
+                .toList());
+        jdbcTemplate.batchUpdate(DELETE_SQL, deletes.stream()
+                .map(change -> new Object[]{change.postId, change.userId})
+                .toList());
+    }
+
+    // 실패 시 in-flight 항목을 대기 목록으로 되돌림 (그 사이 새 토글이 있으면 새 토글 우선)
+    // 새 토글은 in-flight 가 반영된다고 보고 기록했으므로 DB 상태를 in-flight 이전 값으로 되돌리고,
+    // 그 결과 DB 상태와 같아진 항목은 지운다
+    private void clearInFlight(Stripe stripe, boolean restore) {
+        stripe.lock.lock();
+        try {
+            if (restore) {
+                stripe.inFlight.forEach((postId, users) -> {
+                    Map<Long, Pending> pendingUsers = stripe.pending.computeIfAbsent(postId, key -> new HashMap<>());
+                    users.forEach((userId, older) -> pendingUsers.merge(userId, older, (newer, ignored) ->
+                            newer.desired == older.persisted ? null : newer.withPersisted(older.persisted)));
+                    if (pendingUsers.isEmpty()) {
+                        stripe.pending.remove(postId);
+                    }
+                });
+            }
+            stripe.inFlight = Map.of();
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private double queueDepth() {
+        long depth = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                for (Map<Long, Pending> users : stripe.pending.values()) {
+                    depth += users.size();
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return depth;
+    }
+
+    private double flushLagSeconds() {
+        long oldest = Long.MAX_VALUE;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                for (Map<Long, Pending> users : stripe.pending.values()) {
+                    for (Pending pending : users.values()) {
+                        oldest = Math.min(oldest, pending.enqueuedNanos);
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return oldest == Long.MAX_VALUE ? 0 : (System.nanoTime() - oldest) / 1_000_000_000.0;
+    }
+
+    private Stripe stripeOf(Long postId) {
+        return stripes[(int) Math.floorMod(postId, (long) STRIPE_COUNT)];
+    }
+
+    // 게시물 ID 구간 하나의 버퍼 (postId -> userId -> 변경)
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        Map<Long, Map<Long, Pending>> pending = new HashMap<>();
+        Map<Long, Map<Long, Pending>> inFlight = Map.of();
+
+        Boolean stateOf(Long postId, Long userId) {
+            Pending value = find(pending, postId, userId);
+            if (value == null) {
+                value = find(inFlight, postId, userId);
+            }
+            return value != null ? value.desired : null;
+        }
+
+        // persisted: 반영 시점 기준 DB 상태, desired: 최종 상태
+        void put(Long postId, Long userId, boolean persisted, boolean desired) {
+            Map<Long, Pending> users = pending.computeIfAbsent(postId, key -> new HashMap<>());
+            Pending existing = users.get(userId);
+            if (existing != null) {
+                persisted = existing.persisted;
+            } else {
+                Pending flying = find(inFlight, postId, userId);
+                if (flying != null) {
+                    persisted = flying.desired;
+                }
+            }
+
+            // 토글이 상쇄되어 DB 상태와 같아지면 대기 목록에서 제거
+            if (persisted == desired) {
+                users.remove(userId);
+                if (users.isEmpty()) {
+                    pending.remove(postId);
+                }
+            } else {
+                users.put(userId, new Pending(persisted, desired,
+                        existing != null ? existing.enqueuedNanos : System.nanoTime()));
+            }
+        }
+
+        List<Change> changesInFlight() {
+            List<Change> changes = new ArrayList<>();
+            inFlight.forEach((postId, users) -> users.forEach((userId, value) -> {
+                if (value.desired != value.persisted) {
+                    changes.add(new Change(postId, userId, value.desired));
+                }
+            }));
+            return changes;
+        }
+
+        private static Pending find(Map<Long, Map<Long, Pending>> source, Long postId, Long userId) {
+            Map<Long, Pending> users = source.get(postId);
+            return users != null ? users.get(userId) : null;
+        }
+    }
+
+    private record Pending(boolean persisted, boolean desired, long enqueuedNanos) {
+        Pending withPersisted(boolean persisted) {
+            return new Pending(persisted, desired, enqueuedNanos);
+        }
+    }
+
+    private record Change(Long postId, Long userId, boolean liked) {
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.instagram.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 사용자 ID 집합을 담는 Roaring 방식 압축 비트맵
+// ID 의 상위 16비트로 묶음(container)을 나누고, 묶음 안 원소가 적으면 정렬된 char[], 많으면 65536비트 long[] 로 저장한다
+// 32비트 범위의 ID 만 담을 수 있다 (IDENTITY 로 발급되는 사용자 ID 기준)
+public class LikerBitmap {
+
+    public static final long MAX_ID = 0xFFFF_FFFFL;
+
+    // 배열 묶음의 최대 크기 (이 이상이면 비트 묶음이 더 작다)
+    private static final int ARRAY_MAX = 4096;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 상위 16비트 키 (정렬) 와 같은 위치의 묶음
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    public static boolean supports(long id) {
+        return id >= 0 && id <= MAX_ID;
+    }
+
+    public boolean add(long id) {
+        checkRange(id);
+        lock.writeLock().lock();
+        try {
+            char key = high(id);
+            int index = indexOf(key);
+            if (index < 0) {
+                index = -index - 1;
+                insertAt(index, key, new ArrayContainer());
+            }
+            int before = containers[index].cardinality();
+            containers[index] = containers[index].add(low(id));
+            return containers[index].cardinality() != before;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        if (!supports(id)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            int index = indexOf(high(id));
+            if (index < 0) {
+                return false;
+            }
+            int before = containers[index].cardinality();
+            Container after = containers[index].remove(low(id));
+            if (after.cardinality() == 0) {
+                removeAt(index);
+            } else {
+                containers[index] = after;
+            }
+            return after.cardinality() != before;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        if (!supports(id)) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            int index = indexOf(high(id));
+            return index >= 0 && containers[index].contains(low(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long cardinality() {
+        lock.readLock().lock();
+        try {
+            long cardinality = 0;
+            for (int i = 0; i < size; i++) {
+                cardinality += containers[i].cardinality();
+            }
+            return cardinality;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 오름차순 ID 배열과의 교집합 (최대 limit 개)
+    // 키가 정렬되어 있으므로 묶음 위치는 앞으로만 이동하며 찾는다
+    public List<Long> intersect(long[] sortedIds, int limit) {
+        List<Long> result = new ArrayList<>(Math.min(limit, sortedIds.length));
+        lock.readLock().lock();
+        try {
+            int index = 0;
+            for (long id : sortedIds) {
+                if (result.size() >= limit || index >= size) {
+                    break;
+                }
+                if (!supports(id)) {
+                    continue;
+                }
+                char key = high(id);
+                while (index < size && keys[index] < key) {
+                    index++;
+                }
+                if (index < size && keys[index] == key && containers[index].contains(low(id))) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertAt(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    private static void checkRange(long id) {
+        if (!supports(id)) {
+            throw new IllegalArgumentException("비트맵 범위를 벗어난 ID: " + id);
+        }
+    }
+
+    private static char high(long id) {
+        return (char) (id >>> 16);
+    }
+
+    private static char low(long id) {
+        return (char) id;
+    }
+
+    // 하위 16비트 값 집합 (변경 시 다른 종류로 바뀔 수 있어 결과 묶음을 반환)
+    private interface Container {
+        Container add(char value);
+
+        Container remove(char value);
+
+        boolean contains(char value);
+
+        int cardinality();
+    }
+
+    // 원소가 적을 때: 정렬된 배열
+    private static final class ArrayContainer implements Container {
+        private char[] values = new char[4];
+        private int cardinality;
+
+        @Override
+        public Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality >= ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(cardinality * 2, ARRAY_MAX));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    // 원소가 많을 때: 65536 비트
+    private static final class BitmapContainer implements Container {
+        private final long[] words = new long[1024];
+        private int cardinality;
+
+        @Override
+        public Container add(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before | (1L << value);
+            if (before != words[value >>> 6]) {
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before & ~(1L << value);
+            if (before != words[value >>> 6]) {
+                cardinality--;
+            }
+            return cardinality <= ARRAY_MAX ? toArray() : this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        private Container toArray() {
+            ArrayContainer array = new ArrayContainer();
+            for (int word = 0; word < words.length; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    array.add((char) (word * 64 + Long.numberOfTrailingZeros(bits)));
+                    bits &= bits - 1;
+                }
+            }
+            return array;
+        }
+    }
+}
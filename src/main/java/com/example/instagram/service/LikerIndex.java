@@ -0,0 +1,147 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.LikeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 게시물별 좋아요 누른 사용자 비트맵
+// 처음 조회될 때 post_likes 와 쓰기 버퍼의 미반영 상태로 비트맵을 만들고, 이후 토글마다 갱신한다
+// 좋아요 여부와 "팔로우 중인 사람이 누른 좋아요" 를 SQL 없이 메모리에서 계산한다
+@Component
+@RequiredArgsConstructor
+public class LikerIndex {
+
+    private final LikeRepository likeRepository;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final FollowGraph followGraph;
+
+    @Value("${like.index.max-posts:10000}")
+    private int maxPosts;
+
+    @Value("${like.index.idle-evict-ms:600000}")
+    private long idleEvictMs;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // 로드 중인 게시물 -> 로드 도중에 들어온 변경 (entries 의 같은 키 잠금 안에서만 읽고 쓴다)
+    private final Map<Long, List<Change>> loading = new ConcurrentHashMap<>();
+
+    public boolean isLiked(Long postId, Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        if (!LikerBitmap.supports(userId)) {
+            return likeRepository.existsByPostIdAndUserId(postId, userId);
+        }
+        return entry(postId).bitmap.contains(userId);
+    }
+
+    // 팔로우 중인 사용자 중 좋아요 누른 사용자 ID (최대 limit 개)
+    public List<Long> findFollowingLikers(Long postId, Long viewerId, int limit) {
+        return entry(postId).bitmap.intersect(followGraph.following(viewerId), limit);
+    }
+
+    // 좋아요 상태 변경 반영 (메모리에 올라온 게시물만)
+    // 로드 중인 게시물이면 변경을 모아 두고, 로드한 비트맵을 넣을 때 같은 키 잠금 안에서 적용한다
+    public void apply(Long postId, Long userId, boolean liked) {
+        entries.compute(postId, (key, entry) -> {
+            if (entry != null) {
+                set(entry.bitmap, userId, liked);
+            } else {
+                List<Change> changes = loading.get(postId);
+                if (changes != null) {
+                    changes.add(new Change(userId, liked));
+                }
+            }
+            return entry;
+        });
+    }
+
+    public void remove(Long postId) {
+        entries.remove(postId);
+    }
+
+    // 한동안 조회되지 않은 게시물을 내리고, 그래도 많으면 오래된 순으로 내린다
+    @Scheduled(fixedDelayString = "${like.index.evict-interval-ms:60000}")
+    public void evict() {
+        long threshold = System.currentTimeMillis() - idleEvictMs;
+        entries.entrySet().removeIf(entry -> entry.getValue().lastAccessMillis <= threshold);
+
+        int excess = entries.size() - maxPosts;
+        if (excess > 0) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccessMillis))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+        }
+    }
+
+    private Entry entry(Long postId) {
+        Entry entry = entries.get(postId);
+        if (entry == null) {
+            entry = load(postId);
+        }
+        long now = System.currentTimeMillis();
+        if (now - entry.lastAccessMillis > 1000) {
+            entry.lastAccessMillis = now;
+        }
+        return entry;
+    }
+
+    // 조회는 맵 밖에서 한다 (computeIfAbsent 로 조회하면 맵 버킷을 잡은 채 JDBC 를 기다려, 같은 버킷의 토글이 모두 멈춘다)
+    // 버퍼 상태를 먼저 읽고 DB 행 위에 덮어쓴다 (그 사이 flush 되어도 최종 상태는 같다)
+    // 읽기 시작한 뒤의 변경은 loading 에 모였다가 비트맵을 넣을 때 적용된다 (동시에 로드했으면 먼저 넣은 쪽을 쓴다)
+    private Entry load(Long postId) {
+        List<Change> changes = loading.computeIfAbsent(postId, key -> new ArrayList<>());
+
+        Map<Long, Boolean> pending = likeWriteBuffer.pendingStates(postId);
+        LikerBitmap bitmap = new LikerBitmap();
+        for (Long userId : likeRepository.findUserIdsByPostId(postId)) {
+            set(bitmap, userId, true);
+        }
+        pending.forEach((userId, liked) -> set(bitmap, userId, liked));
+
+        Entry loaded = new Entry(bitmap);
+        return entries.compute(postId, (key, existing) -> {
+            loading.remove(postId, changes);
+            if (existing != null) {
+                return existing;
+            }
+            changes.forEach(change -> set(bitmap, change.userId(), change.liked()));
+            return loaded;
+        });
+    }
+
+    private void set(LikerBitmap bitmap, Long userId, boolean liked) {
+        if (!LikerBitmap.supports(userId)) {
+            return;
+        }
+        if (liked) {
+            bitmap.add(userId);
+        } else {
+            bitmap.remove(userId);
+        }
+    }
+
+    private record Change(Long userId, boolean liked) {
+    }
+
+    private static final class Entry {
+        final LikerBitmap bitmap;
+        volatile long lastAccessMillis = System.currentTimeMillis();
+
+        Entry(LikerBitmap bitmap) {
+            this.bitmap = bitmap;
+        }
+    }
+}
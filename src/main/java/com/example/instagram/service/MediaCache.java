@@ -0,0 +1,84 @@
+package com.example.instagram.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 자주 요청되는 업로드 파일의 바이트를 메모리에 보관 (전체 바이트 수 상한, 가장 오래 안 쓴 것부터 내림)
+// 내용이 바뀌지 않는 파일(내용 주소 이름)만 넣으므로 만료 없이 삭제 시에만 지운다
+@Component
+public class MediaCache {
+
+    private final long maxBytes;
+    private final long maxFileBytes;
+
+    // 접근 순서 LinkedHashMap (LRU)
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public MediaCache(@Value("${media.cache.max-bytes:67108864}") long maxBytes,
+                      @Value("${media.cache.max-file-bytes:2097152}") long maxFileBytes,
+                      MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.maxFileBytes = maxFileBytes;
+
+        this.hits = Counter.builder("media.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("media.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("media.cache.evictions").register(meterRegistry);
+        Gauge.builder("media.cache.bytes", this, MediaCache::totalBytes)
+                .description("메모리에 보관 중인 파일 바이트 수")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public synchronized byte[] get(String fileName) {
+        byte[] bytes = entries.get(fileName);
+        if (bytes != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return bytes;
+    }
+
+    public boolean accepts(long size) {
+        return size <= maxFileBytes;
+    }
+
+    public synchronized void put(String fileName, byte[] bytes) {
+        if (!accepts(bytes.length)) {
+            return;
+        }
+        byte[] previous = entries.put(fileName, bytes);
+        totalBytes += bytes.length - (previous == null ? 0 : previous.length);
+
+        Iterator<Map.Entry<String, byte[]>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            totalBytes -= iterator.next().getValue().length;
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    // 파일 삭제 시 호출
+    public synchronized void evict(String fileName) {
+        byte[] removed = entries.remove(fileName);
+        if (removed != null) {
+            totalBytes -= removed.length;
+        }
+    }
+
+    private synchronized long totalBytes() {
+        return totalBytes;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.instagram.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// /uploads 파일 조회
+// 내용 주소 이름(SHA-256) 파일은 바뀌지 않으므로 해시를 ETag 로 쓰고 1년 immutable 캐시, 작은 파일은 메모리에 보관
+// 축소본이 아직 없으면 원본으로 응답하되, 나중에 축소본을 받도록 짧게만 캐시하고 축소본 생성을 다시 요청한다
+@Component
+@RequiredArgsConstructor
+public class MediaStore {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{64}(-(avatar|grid|feed))?\\.[a-z]+");
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+    private static final CacheControl SHORT = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+    private static final CacheControl DEFAULT = CacheControl.maxAge(Duration.ofHours(1)).cachePublic();
+
+    private final MediaCache mediaCache;
+    private final ImageDerivativeService imageDerivativeService;
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    public Optional<Media> find(String fileName) throws IOException {
+        if (!isSafe(fileName)) {
+            return Optional.empty();
+        }
+
+        Media media = load(fileName, false);
+        if (media != null) {
+            return Optional.of(media);
+        }
+
+        // 축소본 대신 원본 (업로드 때 대기열이 가득 차 건너뛴 축소본은 여기서 다시 만든다)
+        String base = ImageVariant.originalBase(fileName);
+        if (base != null) {
+            for (String extension : FileServiceImpl.ALLOWED_EXTENSIONS) {
+                media = load(base + extension, true);
+                if (media != null) {
+                    imageDerivativeService.submit(base + extension);
+                    return Optional.of(media);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Media load(String fileName, boolean fallback) throws IOException {
+        MediaType mediaType = MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        boolean immutable = CONTENT_ADDRESSED.matcher(fileName).matches();
+
+        if (immutable) {
+            byte[] cached = mediaCache.get(fileName);
+            if (cached != null) {
+                return new Media(new ByteArrayResource(cached), mediaType, etag(fileName), cacheControl(true, fallback));
+            }
+        }
+
+        Path path = Paths.get(uploadDir).resolve(fileName);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+        if (!attributes.isRegularFile()) {
+            return null;
+        }
+
+        if (!immutable) {
+            String etag = etag(attributes.size() + "-" + attributes.lastModifiedTime().toMillis());
+            return new Media(new FileSystemResource(path), mediaType, etag, cacheControl(false, fallback));
+        }
+
+        Resource resource = new FileSystemResource(path);
+        if (mediaCache.accepts(attributes.size())) {
+            byte[] bytes = Files.readAllBytes(path);
+            mediaCache.put(fileName, bytes);
+            resource = new ByteArrayResource(bytes);
+        }
+        return new Media(resource, mediaType, etag(fileName), cacheControl(true, fallback));
+    }
+
+    private CacheControl cacheControl(boolean immutable, boolean fallback) {
+        if (fallback) {
+            return SHORT;
+        }
+        return immutable ? IMMUTABLE : DEFAULT;
+    }
+
+    private String etag(String value) {
+        return "\"" + value + "\"";
+    }
+
+    // 하위 경로나 숨김 파일(업로드 임시 디렉터리 등)은 응답하지 않음
+    private boolean isSafe(String fileName) {
+        return !fileName.isEmpty()
+                && !fileName.startsWith(".")
+                && fileName.indexOf('/') < 0
+                && fileName.indexOf('\\') < 0;
+    }
+
+    public record Media(Resource resource, MediaType mediaType, String etag, CacheControl cacheControl) {
+    }
+}
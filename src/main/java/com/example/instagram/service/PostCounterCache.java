@@ -0,0 +1,292 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.PostCounters;
+import com.example.instagram.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// 게시물 좋아요/댓글 수 메모리 카운터
+// 처음 접근할 때 posts 테이블 값을 읽어두고 (목록 화면은 페이지 단위로 한 번에), 이후 증감은 LongAdder(스트라이프 셀)에 쌓아 락 없이 처리한다
+// 주기적으로 아직 저장되지 않은 증감을 posts 테이블에 배치로 더하고, 오래 쓰이지 않은 게시물은 메모리에서 내린다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCounterCache {
+
+    private static final String PERSIST_SQL =
+            "UPDATE posts SET like_count = like_count + ?, comment_count = comment_count + ? WHERE id = ?";
+
+    private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${post.counter.cache.idle-evict-ms:600000}")
+    private long idleEvictMs;
+
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+
+    // 재계산할 때마다 증가 (재계산 전에 읽은 값으로 셀을 만들지 않도록)
+    private final AtomicLong recounts = new AtomicLong();
+
+    // 저장 주기와 종료 시 저장 직렬화
+    // JDBC 배치 동안 잡고 있으므로 synchronized 대신 사용 (가상 스레드가 캐리어 스레드를 고정하지 않도록)
+    private final ReentrantLock persistLock = new ReentrantLock();
+
+    public long likeCount(Long postId) {
+        return cell(postId).likeCount();
+    }
+
+    public long commentCount(Long postId) {
+        return cell(postId).commentCount();
+    }
+
+    // 캐시에 없는 게시물의 카운터를 한 번에 읽어둔다 (목록 화면에서 게시물마다 조회하지 않도록)
+    public void preload(Collection<Long> postIds) {
+        List<Long> missing = postIds.stream()
+                .filter(postId -> !cells.containsKey(postId))
+                .distinct()
+                .toList();
+        if (!missing.isEmpty()) {
+            load(missing);
+        }
+    }
+
+    // 좋아요는 쓰기 버퍼가 트랜잭션 밖에서 처리하므로 바로 반영
+    public void addLikes(Long postId, long delta) {
+        add(postId, delta, 0);
+    }
+
+    // 댓글은 댓글 저장 트랜잭션이 커밋된 뒤 반영
+    public void addComments(Long postId, long delta) {
+        afterCommit(() -> add(postId, 0, delta));
+    }
+
+    // 삭제된 게시물은 저장할 필요 없음
+    public void remove(Long postId) {
+        cells.remove(postId);
+    }
+
+    // posts 테이블 카운터를 다시 계산하고 (recount 가 다시 계산한 게시물 ID 를 반환), 해당 게시물은 새로 읽은 값으로 바꾼다
+    // 저장 락을 잡은 채 미저장 증감을 먼저 저장한 뒤 재계산하므로, 재계산 도중에 증감이 저장되어 두 번 더해지거나 빠지지 않는다
+    // 그 사이 들어온 증감은 재계산 결과에 없으므로 새 셀로 옮겨 다음 주기에 저장한다
+    public Collection<Long> recount(Supplier<Collection<Long>> recount) {
+        persistLock.lock();
+        try {
+            if (!persistPending()) {
+                return List.of();
+            }
+
+            Collection<Long> postIds = recount.get();
+            if (postIds.isEmpty()) {
+                return postIds;
+            }
+
+            // 재계산 전에 읽기 시작한 셀은 버리도록 (load 참고)
+            recounts.incrementAndGet();
+
+            Map<Long, Cell> replaced = new HashMap<>();
+            for (Long postId : postIds) {
+                Cell cell = cells.remove(postId);
+                if (cell != null) {
+                    cell.evicted = true;
+                    replaced.put(postId, cell);
+                }
+            }
+            // 내려진 셀에 증감하던 쪽은 evicted 를 보고 되돌린 뒤 새 셀에 다시 더한다 (add 참고)
+            replaced.forEach((postId, cell) -> {
+                long likes = cell.unpersistedLikes.sumThenReset();
+                long comments = cell.unpersistedComments.sumThenReset();
+                if (likes != 0 || comments != 0) {
+                    add(postId, likes, comments);
+                }
+            });
+            return postIds;
+        } finally {
+            persistLock.unlock();
+        }
+    }
+
+    // 아직 저장되지 않은 증감을 posts 테이블에 반영하고, 한동안 쓰이지 않은 항목은 내린다
+    @Scheduled(fixedDelayString = "${post.counter.cache.persist-interval-ms:5000}")
+    public void persist() {
+        persistLock.lock();
+        try {
+            if (persistPending()) {
+                evictIdle();
+            }
+        } finally {
+            persistLock.unlock();
+        }
+    }
+
+    // 저장 락 안에서 호출, 실패하면 증감을 되돌려 두고 false
+    private boolean persistPending() {
+        List<Object[]> args = new ArrayList<>();
+        List<Cell> drained = new ArrayList<>();
+
+        cells.forEach((postId, cell) -> {
+            long likes = cell.unpersistedLikes.sumThenReset();
+            long comments = cell.unpersistedComments.sumThenReset();
+            if (likes != 0 || comments != 0) {
+                args.add(new Object[]{likes, comments, postId});
+                drained.add(cell);
+            }
+        });
+
+        if (args.isEmpty()) {
+            return true;
+        }
+        try {
+            jdbcTemplate.batchUpdate(PERSIST_SQL, args);
+            return true;
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 저장
+            log.error("게시물 카운터 저장 실패, 다음 주기에 재시도: {}건", args.size(), e);
+            for (int i = 0; i < drained.size(); i++) {
+                drained.get(i).unpersistedLikes.add((long) args.get(i)[0]);
+                drained.get(i).unpersistedComments.add((long) args.get(i)[1]);
+            }
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void persistOnShutdown() {
+        persist();
+    }
+
+    // 증감 후 해당 셀이 내려진 상태면 되돌리고 새 셀에 다시 반영 (내리기와 경합해도 증감이 사라지지 않게)
+    private void add(Long postId, long likes, long comments) {
+        while (true) {
+            Cell cell = cell(postId);
+            cell.add(likes, comments);
+            if (!cell.evicted) {
+                return;
+            }
+            cell.add(-likes, -comments);
+        }
+    }
+
+    private void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleEvictMs;
+        cells.forEach((postId, cell) -> {
+            if (cell.lastAccessMillis <= threshold) {
+                tryEvict(postId, cell);
+            }
+        });
+    }
+
+    // evicted 를 먼저 세운 뒤 미저장 증감을 확인하므로, 동시에 증감한 쪽이 evicted 를 못 봤다면 여기서 증감을 보게 된다
+    private void tryEvict(Long postId, Cell cell) {
+        cell.evicted = true;
+        if (cell.unpersistedLikes.sum() == 0 && cell.unpersistedComments.sum() == 0) {
+            cells.remove(postId, cell);
+        } else {
+            cell.evicted = false;
+        }
+    }
+
+    private Cell cell(Long postId) {
+        while (true) {
+            Cell cell = cells.get(postId);
+            if (cell != null) {
+                return touch(cell);
+            }
+            load(List.of(postId));
+        }
+    }
+
+    // 인기 게시물에서 매번 volatile 쓰기로 경합하지 않도록 초 단위로만 갱신
+    private Cell touch(Cell cell) {
+        long now = System.currentTimeMillis();
+        if (now - cell.lastAccessMillis > 1000) {
+            cell.lastAccessMillis = now;
+        }
+        return cell;
+    }
+
+    // 처음 접근 시 DB 값으로 시작 (없는 게시물은 0), 셀을 만드는 유일한 경로
+    // 조회는 맵 밖에서 하고 putIfAbsent 로 넣는다 (computeIfAbsent 로 조회하면 맵 버킷을 잡은 채 JDBC 를 기다린다)
+    // 조회 중에 재계산이 끝났으면 재계산 전 값일 수 있으므로, 넣은 셀을 다시 내려 다음 접근 때 새로 읽게 한다
+    private void load(Collection<Long> postIds) {
+        long recount = recounts.get();
+        Map<Long, Cell> loaded = new HashMap<>();
+        for (PostCounters counters : postRepository.findCountersByIdIn(postIds)) {
+            loaded.put(counters.getId(), new Cell(counters.getLikeCount(), counters.getCommentCount()));
+        }
+
+        for (Long postId : postIds) {
+            Cell cell = loaded.getOrDefault(postId, new Cell(0, 0));
+            if (cells.putIfAbsent(postId, cell) == null && recount != recounts.get()) {
+                tryEvict(postId, cell);
+            }
+        }
+    }
+
+    // 트랜잭션 안이면 커밋 후에 반영 (롤백된 변경은 세지 않음)
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // 게시물 하나의 카운터 (보이는 값 = 로드 시점 DB 값 + 이후 증감)
+    private static final class Cell {
+        final long likeBase;
+        final long commentBase;
+        final LongAdder likes = new LongAdder();
+        final LongAdder comments = new LongAdder();
+        final LongAdder unpersistedLikes = new LongAdder();
+        final LongAdder unpersistedComments = new LongAdder();
+        volatile long lastAccessMillis = System.currentTimeMillis();
+        volatile boolean evicted;
+
+        Cell(long likeBase, long commentBase) {
+            this.likeBase = likeBase;
+            this.commentBase = commentBase;
+        }
+
+        void add(long likeDelta, long commentDelta) {
+            if (likeDelta != 0) {
+                likes.add(likeDelta);
+                unpersistedLikes.add(likeDelta);
+            }
+            if (commentDelta != 0) {
+                comments.add(commentDelta);
+                unpersistedComments.add(commentDelta);
+            }
+        }
+
+        long likeCount() {
+            return Math.max(0, likeBase + likes.sum());
+        }
+
+        long commentCount() {
+            return Math.max(0, commentBase + comments.sum());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.CommentRepository;
+import com.example.instagram.repository.LikeRepository;
+import com.example.instagram.repository.PostCount;
+import com.example.instagram.repository.PostCounters;
+import com.example.instagram.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// posts.like_count / comment_count 가 실제 행 수와 어긋난 경우 보정
+// id 순으로 배치를 나눠 GROUP BY 로 비교하고, 차이 나는 게시물만 다시 계산한다
+// 배치마다 PostCounterCache 의 저장 락 안에서 비교 ~ 재계산 ~ 캐시 교체를 한 번에 처리한다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCounterReconciler {
+
+    private final PostRepository postRepository;
+    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final PostCounterCache postCounterCache;
+
+    @Value("${post.counter.reconcile-batch-size:500}")
+    private int batchSize;
+
+    // 컬럼이 새로 추가된 직후(기존 게시물 0)에도 맞춰지도록 기동 시 한 번 실행
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${post.counter.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        // 중복 좋아요가 남아 있으면 유니크 제약을 만들 수 없으므로 먼저 정리 (다음 기동 시 제약 생성)
+        int duplicates = likeRepository.deleteDuplicates();
+        if (duplicates > 0) {
+            log.info("중복 좋아요 삭제: {}건", duplicates);
+        }
+
+        long lastId = 0;
+        int repaired = 0;
+
+        while (true) {
+            List<Long> postIds = postRepository.findCountersAfter(lastId, PageRequest.of(0, batchSize)).stream()
+                    .map(PostCounters::getId)
+                    .toList();
+            if (postIds.isEmpty()) {
+                break;
+            }
+
+            // 비교와 재계산은 카운터 저장을 멈춘 채로 (그 사이 저장된 증감이 재계산에 섞이지 않도록)
+            repaired += postCounterCache.recount(() -> repair(postIds)).size();
+
+            lastId = postIds.get(postIds.size() - 1);
+        }
+
+        if (repaired > 0) {
+            log.info("게시물 카운터 보정: {}건", repaired);
+        }
+    }
+
+    // 저장된 카운터를 실제 행 수와 비교해 다른 게시물만 다시 계산하고 그 ID 를 반환
+    private List<Long> repair(List<Long> postIds) {
+        // 버퍼에 남은 좋아요를 먼저 반영해야 행 수가 맞는다 (카운터 증감은 PostCounterCache 가 먼저 저장한다)
+        likeWriteBuffer.flush();
+
+        Map<Long, Long> likeCounts = toMap(likeRepository.countByPostIdIn(postIds));
+        Map<Long, Long> commentCounts = toMap(commentRepository.countByPostIdIn(postIds));
+
+        List<Long> drifted = postRepository.findCountersByIdIn(postIds).stream()
+                .filter(counters -> counters.getLikeCount() != likeCounts.getOrDefault(counters.getId(), 0L)
+                        || counters.getCommentCount() != commentCounts.getOrDefault(counters.getId(), 0L))
+                .map(PostCounters::getId)
+                .toList();
+
+        if (!drifted.isEmpty()) {
+            postRepository.resetCounters(drifted);
+        }
+        return drifted;
+    }
+
+    private Map<Long, Long> toMap(List<PostCount> counts) {
+        return counts.stream()
+                .collect(Collectors.toMap(PostCount::getPostId, PostCount::getCount));
+    }
+}
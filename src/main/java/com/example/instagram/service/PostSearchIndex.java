@@ -0,0 +1,265 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 게시물 본문 역색인 (메모리)
+// 토큰 -> (게시물 ID -> 등장 횟수) 를 보관하고, 검색어의 모든 토큰을 포함한 게시물만 골라 BM25 점수로 정렬한다
+// 단어 토큰(영문, 숫자 등)은 접두어로 찾는다 (insta -> instagram), 토큰은 정렬해 두고 범위로 조회
+// 접두어 확장은 검색어와 같은 단어를 항상 포함하고, 나머지는 게시물이 많은 단어부터 단어 수/게시물 수 한도까지만 합친다
+// (MIN_PREFIX_LENGTH 보다 짧은 검색어는 같은 단어만 찾음)
+// 게시물 작성/삭제 시 바로 반영하고, 기동 시 전체 게시물로 한 번 채운다 (채우기 전에는 DB LIKE 검색 사용)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    // BM25 파라미터
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // 접두어 확장 한도: 검색어 최소 길이, 합칠 최대 단어 수, 합칠 게시물 목록 크기 합
+    // 한도를 넘으면 게시물이 적은 단어부터 빠진다 (사전순으로 자르면 흔한 단어가 빠질 수 있음)
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MAX_PREFIX_POSTINGS = 50_000;
+
+    private final PostRepository postRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 같은 게시물을 다시 넣으면 기존 색인을 교체
+    public void index(Long postId, String content, LocalDateTime createdAt) {
+        List<String> tokens = ContentTokenizer.tokenizeForIndex(content);
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(postId);
+            frequencies.forEach((token, frequency) ->
+                    postings.computeIfAbsent(token, key -> new HashMap<>()).put(postId, frequency));
+            documents.put(postId, new Document(tokens.size(), createdAt, frequencies.keySet().toArray(String[]::new)));
+            totalLength += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 관련도(BM25)순 게시물 ID, 점수가 같으면 최신순
+    public List<Long> search(String query, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<String> terms = distinctTerms(query);
+            List<Map<Long, Integer>> lists = matchingLists(terms);
+            if (lists.isEmpty()) {
+                return List.of();
+            }
+
+            double averageLength = documents.isEmpty() ? 1 : (double) totalLength / documents.size();
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                double df = lists.get(i).size();
+                idf[i] = Math.log(1 + (documents.size() - df + 0.5) / (df + 0.5));
+            }
+
+            List<Scored> hits = new ArrayList<>();
+            for (Long postId : lists.get(0).keySet()) {
+                if (!containsAll(lists, postId)) {
+                    continue;
+                }
+                int length = documents.get(postId).length;
+                double score = 0;
+                for (int i = 0; i < lists.size(); i++) {
+                    int frequency = lists.get(i).get(postId);
+                    score += idf[i] * frequency * (K1 + 1)
+                            / (frequency + K1 * (1 - B + B * length / averageLength));
+                }
+                hits.add(new Scored(postId, score));
+            }
+
+            return hits.stream()
+                    .sorted(Comparator.comparingDouble(Scored::score).reversed()
+                            .thenComparing(Scored::postId, Comparator.reverseOrder()))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(Scored::postId)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 검색어를 포함한 게시물 중 (createdAt, id) 커서 이전의 최신순 ID
+    public List<Long> searchBefore(String query, LocalDateTime createdAt, Long id, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> lists = matchingLists(distinctTerms(query));
+            if (lists.isEmpty()) {
+                return List.of();
+            }
+
+            Comparator<Map.Entry<Long, Document>> newestFirst = Comparator
+                    .comparing((Map.Entry<Long, Document> entry) -> entry.getValue().createdAt)
+                    .thenComparing(Map.Entry::getKey)
+                    .reversed();
+
+            return lists.get(0).keySet().stream()
+                    .filter(postId -> containsAll(lists, postId))
+                    .map(postId -> Map.entry(postId, documents.get(postId)))
+                    .filter(entry -> isBefore(entry.getValue().createdAt, entry.getKey(), createdAt, id))
+                    .sorted(newestFirst)
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long lastId = 0;
+        while (true) {
+            List<Object[]> batch = postRepository.findContentAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (Object[] row : batch) {
+                lastId = (Long) row[0];
+                index(lastId, (String) row[1], (LocalDateTime) row[2]);
+            }
+        }
+        ready = true;
+        log.info("게시물 검색 색인: 게시물 {}개, 토큰 {}개", documents.size(), postings.size());
+    }
+
+    private List<String> distinctTerms(String query) {
+        return new ArrayList<>(new LinkedHashSet<>(ContentTokenizer.tokenize(query)));
+    }
+
+    // 토큰별 게시물 목록 (짧은 목록부터), 하나라도 없으면 빈 목록
+    private List<Map<Long, Integer>> matchingLists(List<String> terms) {
+        List<Map<Long, Integer>> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<Long, Integer> list = postingsOf(term);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Map::size));
+        return lists;
+    }
+
+    // 단어 토큰은 접두어가 같은 단어의 목록을 합친다 (등장 횟수는 합산)
+    private Map<Long, Integer> postingsOf(String term) {
+        Map<Long, Integer> exact = postings.get(term);
+        if (!ContentTokenizer.isWordToken(term) || term.length() < MIN_PREFIX_LENGTH) {
+            return exact;
+        }
+
+        // 검색어보다 긴 단어 중 게시물이 많은 순으로 MAX_PREFIX_EXPANSIONS 개
+        PriorityQueue<Map<Long, Integer>> largest = new PriorityQueue<>(Comparator.comparingInt(Map::size));
+        for (Map<Long, Integer> list : postings.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+            largest.add(list);
+            if (largest.size() > MAX_PREFIX_EXPANSIONS) {
+                largest.poll();
+            }
+        }
+        if (largest.isEmpty()) {
+            return exact;
+        }
+
+        List<Map<Long, Integer>> expansions = new ArrayList<>(largest);
+        expansions.sort(Comparator.comparingInt((Map<Long, Integer> list) -> list.size()).reversed());
+
+        Map<Long, Integer> merged = exact == null ? new HashMap<>() : new HashMap<>(exact);
+        int budget = MAX_PREFIX_POSTINGS - merged.size();
+        for (Map<Long, Integer> list : expansions) {
+            if (list.size() > budget) {
+                continue;
+            }
+            list.forEach((postId, frequency) -> merged.merge(postId, frequency, Integer::sum));
+            budget -= list.size();
+        }
+        return merged.isEmpty() ? null : merged;
+    }
+
+    private boolean containsAll(List<Map<Long, Integer>> lists, Long postId) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).containsKey(postId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isBefore(LocalDateTime createdAt, Long postId, LocalDateTime cursorCreatedAt, Long cursorId) {
+        int compare = createdAt.compareTo(cursorCreatedAt);
+        return compare < 0 || (compare == 0 && postId < cursorId);
+    }
+
+    private void removeDocument(Long postId) {
+        Document document = documents.remove(postId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms) {
+            Map<Long, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(postId);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= document.length;
+    }
+
+    private record Document(int length, LocalDateTime createdAt, String[] terms) {
+    }
+
+    private record Scored(Long postId, double score) {
+    }
+}
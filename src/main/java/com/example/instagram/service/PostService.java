@@ -1,6 +1,9 @@
 package com.example.instagram.service;
 
+import com.example.instagram.dto.request.Cursor;
 import com.example.instagram.dto.request.PostCreateRequest;
+import com.example.instagram.dto.request.RankedCursor;
+import com.example.instagram.dto.response.CursorSlice;
 import com.example.instagram.dto.response.PostResponse;
 import com.example.instagram.entity.Post;
 import org.springframework.data.domain.Pageable;
@@ -21,10 +24,24 @@ public interface PostService {
     // 피드 조회
     Slice<PostResponse> getFeedPosts(Long userId, Pageable pageable);
 
-    // 전체게시물 조회
-    Slice<PostResponse> getAllPostsPaging(Pageable pageable);
+    // 랭킹 피드: 최근 후보를 한 번 정렬한 스냅샷을 읽고, 다 읽으면 최신순으로 이어감
+    CursorSlice<PostResponse> getRankedFeedPosts(Long userId, RankedCursor cursor, int size);
 
-    Slice<PostResponse> searchPosts(String keyword, Pageable pageable);
+    // 탐색: 인기 게시물 랭킹
+    Slice<PostResponse> getTrendingPosts(Pageable pageable, Long viewerId);
+
+    Slice<PostResponse> searchPosts(String keyword, Pageable pageable, Long viewerId);
+
+    // 커서 기반 조회 (무한 스크롤), viewerId 는 좋아요 여부 표시용
+    CursorSlice<PostResponse> getFeedPosts(Long userId, Cursor cursor, int size);
+    CursorSlice<PostResponse> getAllPosts(Cursor cursor, int size, Long viewerId);
+    CursorSlice<PostResponse> searchPosts(String keyword, Cursor cursor, int size, Long viewerId);
+
+    // 탐색: 순위 스냅샷 커서 (순위를 다 읽으면 최신순으로 이어감)
+    CursorSlice<PostResponse> getTrendingPosts(RankedCursor cursor, int size, Long viewerId);
+
+    // 해시태그 피드 (최신순)
+    CursorSlice<PostResponse> getTagPosts(String tag, Cursor cursor, int size, Long viewerId);
 
     void deletePost(Long postId, Long currentUserId);
 
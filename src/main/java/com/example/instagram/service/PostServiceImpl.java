@@ -1,7 +1,10 @@
 package com.example.instagram.service;
 
 
+import com.example.instagram.dto.request.Cursor;
 import com.example.instagram.dto.request.PostCreateRequest;
+import com.example.instagram.dto.request.RankedCursor;
+import com.example.instagram.dto.response.CursorSlice;
 import com.example.instagram.dto.response.PostResponse;
 import com.example.instagram.entity.Comment;
 import com.example.instagram.entity.Post;
@@ -10,16 +13,24 @@ import com.example.instagram.exception.BusinessException;
 import com.example.instagram.exception.ErrorCode;
 import com.example.instagram.repository.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -27,23 +38,50 @@ public class PostServiceImpl implements PostService {
 
     private final UserService userService;
     private final PostRepository postRepository;
-    private final LikeRepository likeRepository;
-    private final CommentRepository commentRepository;
+    private final PostStatsHydrator postStatsHydrator;
+    private final TrendingEngine trendingEngine;
+    private final FeedRankingPipeline feedRankingPipeline;
+    private final FeedSnapshotCache feedSnapshotCache;
     private final FileService fileService;
-    private final FollowRepository followRepository;
+    private final TimelineService timelineService;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final PostCounterCache postCounterCache;
+    private final LikerIndex likerIndex;
+    private final PostSearchIndex postSearchIndex;
+    private final HashtagService hashtagService;
+    private final SearchResultCache searchResultCache;
+    private final TransactionTemplate transactionTemplate;
 
+    // 커서 조회 시 한 페이지 최대 크기
+    private static final int MAX_CURSOR_SIZE = 50;
 
+    // 순위에 든 게시물을 건너뛰며 최신순으로 읽을 때 한 번에 조회할 최소 개수
+    private static final int CHRONOLOGICAL_SCAN_SIZE = 100;
 
+
+
+    // 이미지는 트랜잭션 밖에서 임시 저장하고, 게시물 행은 짧은 트랜잭션으로 저장
+    // (업로드 크기만큼 DB 커넥션을 잡고 있지 않도록)
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PostResponse create(PostCreateRequest postCreateRequest, MultipartFile image, Long userId) {
+        StagedFile staged = fileService.stage(image);
+        try {
+            return transactionTemplate.execute(status -> createPost(postCreateRequest, staged, userId));
+        } catch (RuntimeException e) {
+            fileService.discard(staged);
+            throw e;
+        }
+    }
+
+    private PostResponse createPost(PostCreateRequest postCreateRequest, StagedFile staged, Long userId) {
         User user = userService.findById(userId);
 
         // 파일을 저장 => 경로
         String imageUrl = null;
 
-        if (image != null && !image.isEmpty()) {
-            String fileName = fileService.saveFile(image);
+        if (staged != null) {
+            String fileName = fileService.store(staged);
             imageUrl = "/uploads/" + fileName;
         }
 
@@ -54,10 +92,29 @@ public class PostServiceImpl implements PostService {
                 .build();
 
         Post savedPost = postRepository.save(post);
+
+        // 게시물 행이 커밋된 뒤에만 타임라인, 랭킹, 검색 색인, 해시태그에 반영
+        // (롤백된 게시물이 피드나 검색 결과에 남지 않도록, 탐색 랭킹은 엔진이 직접 커밋 후에 반영)
+        trendingEngine.onPostCreated(savedPost.getId(), savedPost.getCreatedAt());
+        afterCommit(() -> publish(savedPost));
+
         return PostResponse.from(savedPost);
 
     }
 
+    // 커밋 이후 실행되므로 실패해도 게시물 작성은 성공으로 둔다 (보정은 각 색인의 재구성 경로에 맡김)
+    private void publish(Post post) {
+        try {
+            // 팔로워 타임라인에 push
+            timelineService.fanOut(post);
+            postSearchIndex.index(post.getId(), post.getContent(), post.getCreatedAt());
+            hashtagService.tag(post);
+            searchResultCache.invalidatePosts(post.getContent());
+        } catch (RuntimeException e) {
+            log.warn("게시물 {} 반영 실패", post.getId(), e);
+        }
+    }
+
     @Override
     public Post findById(Long postId) {
         return postRepository.findById(postId)
@@ -94,65 +151,181 @@ public class PostServiceImpl implements PostService {
 
     @Override
     public List<PostResponse> getAllPostsWithStats() {
-        return postRepository.findAllByOrderByCreatedAtDesc().stream()
-                .map(post -> {
-                    long likeCount = likeRepository.countByPostId(post.getId());
-                    long commentCount = commentRepository.countByPostId(post.getId());
-                    return PostResponse.from(post, commentCount, likeCount);
-                })
-                .collect(Collectors.toList());
+        return postStatsHydrator.hydrate(postRepository.findAllByOrderByCreatedAtDesc(), null);
     }
 
 
     @Override
     public Slice<PostResponse> getFeedPosts(Long userId, Pageable pageable) {
-        List<Long> followingIds = followRepository.findFollowingIdsByFollowerId(userId);
+        // 미리 정렬된 타임라인에서 ID 범위만 읽고, 해당 게시물만 조회
+        Slice<Long> postIdSlice = timelineService.getPostIds(userId, pageable);
 
-        Slice<Post> postSlice = postRepository.findFeedPostsByUserIds(followingIds, pageable);
+        List<PostResponse> postResponses = postStatsHydrator.hydrate(postRepository.findAllWithUserInOrder(postIdSlice.getContent()), userId);
 
-        List<PostResponse> postResponses = postSlice.getContent().stream()
-                .map(post -> {
-                    long likeCount = likeRepository.countByPostId(post.getId());
-                    long commentCount = commentRepository.countByPostId(post.getId());
-                    return PostResponse.from(post, commentCount, likeCount);
-                })
-                .toList();
+        return new SliceImpl<>(postResponses, pageable, postIdSlice.hasNext());
 
-        return new SliceImpl<>(postResponses, pageable, postSlice.hasNext());
 
+    }
+
+    // 페이지 번호 모드: 현재 순위 기준이라 페이지 사이에 순위가 갱신되면 중복/누락될 수 있다 (화면은 커서 모드 사용)
+    @Override
+    public Slice<PostResponse> getTrendingPosts(Pageable pageable, Long viewerId) {
+        // 미리 계산된 순위에서 한 페이지 + 1 개만 잘라 조회
+        List<Long> postIds = trendingEngine.getRanking(pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = postIds.size() > pageable.getPageSize();
+
+        List<Post> posts = postRepository.findAllWithUserInOrder(hasNext ? postIds.subList(0, pageable.getPageSize()) : postIds);
 
+        return new SliceImpl<>(postStatsHydrator.hydrate(posts, viewerId), pageable, hasNext);
     }
 
     @Override
-    public Slice<PostResponse> getAllPostsPaging(Pageable pageable) {
-        Slice<Post> postSlice = postRepository.findAllWithUserPaging(pageable);
+    public Slice<PostResponse> searchPosts(String keyword, Pageable pageable, Long viewerId) {
+        // 색인 로딩 전에는 DB 검색
+        if (!postSearchIndex.isReady()) {
+            Slice<Post> postSlice = postRepository.searchByKeyword(keyword, pageable);
+            return new SliceImpl<>(postStatsHydrator.hydrate(postSlice.getContent(), viewerId), pageable, postSlice.hasNext());
+        }
+
+        // 관련도순 ID 만 색인에서(또는 캐시에서) 가져오고 해당 페이지 게시물만 조회
+        List<Long> postIds = searchResultCache.get(SearchResultCache.Type.POSTS, keyword,
+                "page:" + pageable.getOffset() + ":" + pageable.getPageSize(),
+                () -> postSearchIndex.search(keyword, (int) pageable.getOffset(), pageable.getPageSize() + 1));
+        boolean hasNext = postIds.size() > pageable.getPageSize();
+        List<Post> posts = postRepository.findAllWithUserInOrder(hasNext ? postIds.subList(0, pageable.getPageSize()) : postIds);
+
+        return new SliceImpl<>(postStatsHydrator.hydrate(posts, viewerId), pageable, hasNext);
+    }
 
-        List<PostResponse> postResponses = postSlice.getContent().stream()
-                .map(post -> {
-                    long likeCount = likeRepository.countByPostId(post.getId());
-                    long commentCount = commentRepository.countByPostId(post.getId());
+    @Override
+    public CursorSlice<PostResponse> getFeedPosts(Long userId, Cursor cursor, int size) {
+        int limit = clampSize(size);
+        List<Long> postIds = timelineService.getPostIds(userId, cursor, limit + 1);
 
-                    return PostResponse.from(post, commentCount, likeCount);
-                })
-                .toList();
+        boolean hasNext = postIds.size() > limit;
+        List<Post> posts = postRepository.findAllWithUserInOrder(hasNext ? postIds.subList(0, limit) : postIds);
 
-        return new SliceImpl<>(postResponses, pageable, postSlice.hasNext());
+        return toCursorSlice(posts, hasNext, userId);
     }
 
+    @Override
+    public CursorSlice<PostResponse> getAllPosts(Cursor cursor, int size, Long viewerId) {
+        int limit = clampSize(size);
+        List<Post> posts = postRepository.findAllBeforeCursor(
+                cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, limit + 1));
+
+        return toCursorSlice(posts, limit, viewerId);
+    }
 
     @Override
-    public Slice<PostResponse> searchPosts(String keyword, Pageable pageable) {
-        Slice<Post> postSlice = postRepository.searchByKeyword(keyword, pageable);
+    public CursorSlice<PostResponse> searchPosts(String keyword, Cursor cursor, int size, Long viewerId) {
+        int limit = clampSize(size);
+        if (!postSearchIndex.isReady()) {
+            List<Post> posts = postRepository.searchByKeywordBeforeCursor(
+                    keyword, cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, limit + 1));
+            return toCursorSlice(posts, limit, viewerId);
+        }
 
-        List<PostResponse> postResponses = postSlice.getContent().stream()
-                .map(post -> {
-                    long likeCount = likeRepository.countByPostId(post.getId());
-                    long commentCount = commentRepository.countByPostId(post.getId());
-                    return PostResponse.from(post, commentCount, likeCount);
-                })
-                .toList();
+        // 커서 모드는 최신순 (일치 여부만 색인으로 판단)
+        List<Long> postIds = searchResultCache.get(SearchResultCache.Type.POSTS, keyword,
+                "cursor:" + Cursor.encode(cursor.getCreatedAt(), cursor.getId()) + ":" + limit,
+                () -> postSearchIndex.searchBefore(keyword, cursor.getCreatedAt(), cursor.getId(), limit + 1));
+        boolean hasNext = postIds.size() > limit;
+        List<Post> posts = postRepository.findAllWithUserInOrder(hasNext ? postIds.subList(0, limit) : postIds);
 
-        return new SliceImpl<>(postResponses, pageable, postSlice.hasNext());
+        return toCursorSlice(posts, hasNext, viewerId);
+    }
+
+    @Override
+    public CursorSlice<PostResponse> getRankedFeedPosts(Long userId, RankedCursor cursor, int size) {
+        int limit = clampSize(size);
+        Cursor after = cursor.getAfter();
+
+        if (cursor.isRanked()) {
+            // 첫 페이지에서만 파이프라인을 실행하고, 이후 페이지는 같은 스냅샷에서 위치만 옮긴다
+            FeedSnapshotCache.Snapshot snapshot = cursor.getSnapshotId() == RankedCursor.NO_SNAPSHOT
+                    ? feedSnapshotCache.put(userId, feedRankingPipeline.rank(userId))
+                    : feedSnapshotCache.get(cursor.getSnapshotId(), userId);
+
+            // 스냅샷이 만료됐으면 후보 구간 뒤부터 최신순으로 이어감
+            if (snapshot != null && cursor.getPosition() < snapshot.size()) {
+                int position = cursor.getPosition();
+                List<Post> posts = postRepository.findAllWithUserInOrder(snapshot.slice(position, limit));
+                boolean hasNext = position + limit < snapshot.size() || snapshot.hasMore();
+                String nextCursor = hasNext
+                        ? RankedCursor.ranked(snapshot.id(), position + limit, snapshot.tail()).encode()
+                        : null;
+                return new CursorSlice<>(postStatsHydrator.hydrate(posts, userId), nextCursor, hasNext);
+            }
+            if (snapshot != null) {
+                if (!snapshot.hasMore()) {
+                    return new CursorSlice<>(List.of(), null, false);
+                }
+                after = snapshot.tail();
+            }
+        }
+
+        // 후보 구간을 다 읽은 뒤에는 타임라인 커서 (createdAt, id) 로 최신순 조회
+        List<Long> postIds = timelineService.getPostIds(userId, after, limit + 1);
+        boolean hasNext = postIds.size() > limit;
+        List<Post> posts = postRepository.findAllWithUserInOrder(hasNext ? postIds.subList(0, limit) : postIds);
+
+        String nextCursor = null;
+        if (hasNext && !posts.isEmpty()) {
+            Post last = posts.get(posts.size() - 1);
+            nextCursor = RankedCursor.chronological(RankedCursor.NO_SNAPSHOT,
+                    new Cursor(last.getCreatedAt(), last.getId())).encode();
+        }
+        return new CursorSlice<>(postStatsHydrator.hydrate(posts, userId), nextCursor, hasNext);
+    }
+
+    @Override
+    public CursorSlice<PostResponse> getTrendingPosts(RankedCursor cursor, int size, Long viewerId) {
+        int limit = clampSize(size);
+        TrendingEngine.Snapshot snapshot = cursor.getSnapshotId() == RankedCursor.NO_SNAPSHOT
+                ? trendingEngine.currentSnapshot()
+                : trendingEngine.snapshot(cursor.getSnapshotId());
+
+        // 보관 기간이 지나 버전이 밀려났으면 다른 순위의 같은 위치부터 읽지 않고 최신순으로 넘어간다
+        // (이후 페이지는 현재 버전에 든 게시물을 빼고 읽는다)
+        boolean expired = snapshot == null;
+        if (expired) {
+            snapshot = trendingEngine.currentSnapshot();
+        }
+
+        // 1. 첫 요청에 정한 버전의 순위에서 위치만 옮겨가며 읽는다 (순위가 갱신되어도 중복/누락 없음)
+        if (!expired && cursor.isRanked() && cursor.getPosition() < snapshot.size()) {
+            int position = cursor.getPosition();
+            List<Post> posts = postRepository.findAllWithUserInOrder(snapshot.slice(position, limit));
+            RankedCursor next = RankedCursor.ranked(snapshot.version(), position + limit, Cursor.first());
+            return new CursorSlice<>(postStatsHydrator.hydrate(posts, viewerId), next.encode(), true);
+        }
+
+        // 2. 순위를 다 읽으면 그 순위에 든 게시물을 빼고 최신순으로 이어감
+        Cursor after = cursor.isRanked() ? Cursor.first() : cursor.getAfter();
+        List<Post> posts = findAllBeforeExcluding(after, limit + 1, snapshot);
+        boolean hasNext = posts.size() > limit;
+        List<Post> page = hasNext ? posts.subList(0, limit) : posts;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Post last = page.get(page.size() - 1);
+            nextCursor = RankedCursor.chronological(snapshot.version(),
+                    new Cursor(last.getCreatedAt(), last.getId())).encode();
+        }
+        return new CursorSlice<>(postStatsHydrator.hydrate(page, viewerId), nextCursor, hasNext);
+    }
+
+    @Override
+    public CursorSlice<PostResponse> getTagPosts(String tag, Cursor cursor, int size, Long viewerId) {
+        int limit = clampSize(size);
+
+        // 태그 색인에서 ID 범위만 읽고, 해당 게시물만 조회
+        List<Long> postIds = hashtagService.getPostIds(tag, cursor, limit + 1);
+        boolean hasNext = postIds.size() > limit;
+        List<Post> posts = postRepository.findAllWithUserInOrder(hasNext ? postIds.subList(0, limit) : postIds);
+
+        return toCursorSlice(posts, hasNext, viewerId);
     }
 
     @Override
@@ -169,17 +342,90 @@ public class PostServiceImpl implements PostService {
             throw new BusinessException(ErrorCode.POST_NOT_FOUND);
         }
 
-        // 3. 파일 삭제 (게시물에 이미지가 있는 경우)
-        if (post.getImageUrl() != null && !post.getImageUrl().isEmpty()) {
-            // fileService.deleteFile(post.getImageUrl()); // 파일 삭제 서비스가 있다면 호출해야 합니다.
-            // 현재는 fileService에 deleteFile 메서드가 없으므로 주석 처리합니다.
-        }
-
-        // 4. 게시물 삭제 실행
+        // 3. 이미지 참조 해제 (같은 이미지를 쓰는 다른 게시물이 없으면 파일 정리 대상)
+        fileService.release(post.getImageUrl());
+
+        // 4. 타임라인, 해시태그, 탐색 랭킹, 좋아요 버퍼, 카운터 캐시에서 제거
+        timelineService.removePost(postId);
+        hashtagService.removePost(postId);
+        trendingEngine.onPostDeleted(postId);
+        likeWriteBuffer.discard(postId);
+        postCounterCache.remove(postId);
+        likerIndex.remove(postId);
+
+        // 검색 색인과 캐시는 커밋 후에 (커밋 전에 지우면 그 사이 조회가 삭제 전 결과를 다시 캐시한다)
+        String content = post.getContent();
+        afterCommit(() -> {
+            postSearchIndex.remove(postId);
+            searchResultCache.invalidatePosts(content);
+        });
+
+        // 5. 게시물 삭제 실행
         // 연관된 댓글, 좋아요 등은 Post 엔티티의 @OneToMany 매핑에 CascadeType.ALL 또는 orphanRemoval = true 설정에 따라 자동으로 삭제됩니다.
         postRepository.delete(post);
     }
 
+    private int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_SIZE));
+    }
+
+    // limit + 1 개를 조회해서 다음 페이지 존재 여부 판단
+    private CursorSlice<PostResponse> toCursorSlice(List<Post> posts, int limit, Long viewerId) {
+        boolean hasNext = posts.size() > limit;
+        return toCursorSlice(hasNext ? posts.subList(0, limit) : posts, hasNext, viewerId);
+    }
+
+    private CursorSlice<PostResponse> toCursorSlice(List<Post> posts, boolean hasNext, Long viewerId) {
+        List<PostResponse> postResponses = postStatsHydrator.hydrate(posts, viewerId);
+
+        String nextCursor = null;
+        if (hasNext && !posts.isEmpty()) {
+            Post last = posts.get(posts.size() - 1);
+            nextCursor = Cursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        return new CursorSlice<>(postResponses, nextCursor, hasNext);
+    }
+
+    // 커서 이후 최신순으로 count 개, 스냅샷에 든 게시물은 건너뜀 (건너뛰는 수는 스냅샷 크기 이하)
+    private List<Post> findAllBeforeExcluding(Cursor after, int count, TrendingEngine.Snapshot snapshot) {
+        int batchSize = Math.max(count, CHRONOLOGICAL_SCAN_SIZE);
+        List<Post> result = new ArrayList<>(count);
+        Cursor cursor = after;
+
+        while (result.size() < count) {
+            List<Post> batch = postRepository.findAllBeforeCursor(
+                    cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, batchSize));
+            for (Post post : batch) {
+                if (!snapshot.contains(post.getId())) {
+                    result.add(post);
+                    if (result.size() == count) {
+                        break;
+                    }
+                }
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+            Post last = batch.get(batch.size() - 1);
+            cursor = new Cursor(last.getCreatedAt(), last.getId());
+        }
+        return result;
+    }
+
+    // 트랜잭션이 있으면 커밋 후에, 없으면 바로 실행
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 
 
 }
@@ -0,0 +1,55 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.response.PostResponse;
+import com.example.instagram.entity.Post;
+import com.example.instagram.repository.LikeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// 한 페이지 분량의 게시물을 응답으로 변환
+// 좋아요/댓글 수는 메모리 카운터에서 읽고 (캐시에 없는 게시물은 페이지 전체를 IN 조회 한 번으로 채움),
+// 조회자의 좋아요 여부는 페이지 전체를 IN 조회 한 번으로 확인한다 (아직 flush 되지 않은 토글은 버퍼 상태 우선)
+@Component
+@RequiredArgsConstructor
+public class PostStatsHydrator {
+
+    private final LikeRepository likeRepository;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final PostCounterCache postCounterCache;
+
+    // viewerId 가 null 이면 (비로그인) 좋아요 여부는 모두 false
+    public List<PostResponse> hydrate(List<Post> posts, Long viewerId) {
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> postIds = posts.stream()
+                .map(Post::getId)
+                .toList();
+
+        postCounterCache.preload(postIds);
+        Set<Long> likedPostIds = findLikedPostIds(postIds, viewerId);
+
+        return posts.stream()
+                .map(post -> PostResponse.from(post,
+                        postCounterCache.commentCount(post.getId()),
+                        postCounterCache.likeCount(post.getId()),
+                        likedPostIds.contains(post.getId())))
+                .toList();
+    }
+
+    private Set<Long> findLikedPostIds(List<Long> postIds, Long viewerId) {
+        if (viewerId == null) {
+            return Set.of();
+        }
+
+        Set<Long> likedPostIds = new HashSet<>(likeRepository.findLikedPostIds(viewerId, postIds));
+        // 버퍼에 남아 있는 본인 토글 반영
+        likeWriteBuffer.overlay(viewerId, postIds, likedPostIds);
+        return likedPostIds;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.instagram.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 최신 게시물일수록 높은 점수 (반감기마다 절반)
+@Component
+public class RecencyFeedScorer implements FeedScorer {
+
+    @Value("${feed.ranking.recency-weight:1.0}")
+    private double weight;
+
+    @Value("${feed.ranking.recency-half-life-hours:12}")
+    private double halfLifeHours;
+
+    @Override
+    public double score(FeedCandidate candidate) {
+        return weight * Math.pow(2, -candidate.getAgeHours() / halfLifeHours);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.instagram.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+// 검색 결과 캐시 (정규화한 검색어 + 페이지 -> 결과)
+// 최대 개수를 넘으면 가장 오래 안 쓴 항목부터, TTL 이 지나면 조회 시점에 버린다
+// 게시물 작성/삭제, 프로필 변경 시 그 내용과 일치하는 검색어의 항목만 지운다
+@Component
+public class SearchResultCache {
+
+    public enum Type {
+        POSTS, USERS
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    // 접근 순서 LinkedHashMap (LRU)
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // 무효화가 일어날 때마다 증가 (조회 중에 무효화된 결과는 저장하지 않음)
+    private final Map<Type, Long> generations = new EnumMap<>(Type.class);
+
+    private final Map<Type, Counter> hits = new EnumMap<>(Type.class);
+    private final Map<Type, Counter> misses = new EnumMap<>(Type.class);
+    private final Counter sizeEvictions;
+    private final Counter expirations;
+    private final Counter invalidations;
+
+    public SearchResultCache(@Value("${search.cache.max-entries:1000}") int maxEntries,
+                             @Value("${search.cache.ttl-ms:60000}") long ttlMillis,
+                             MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000;
+
+        for (Type type : Type.values()) {
+            String tag = type.name().toLowerCase(Locale.ROOT);
+            generations.put(type, 0L);
+            hits.put(type, Counter.builder("search.cache.requests")
+                    .tag("type", tag).tag("result", "hit")
+                    .register(meterRegistry));
+            misses.put(type, Counter.builder("search.cache.requests")
+                    .tag("type", tag).tag("result", "miss")
+                    .register(meterRegistry));
+            Gauge.builder("search.cache.hit.ratio", this, cache -> cache.hitRatio(type))
+                    .description("검색 캐시 적중률")
+                    .tag("type", tag)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("search.cache.size", this, SearchResultCache::size)
+                .description("캐시된 검색 결과 수")
+                .register(meterRegistry);
+        this.sizeEvictions = evictionCounter(meterRegistry, "size");
+        this.expirations = evictionCounter(meterRegistry, "expired");
+        this.invalidations = evictionCounter(meterRegistry, "invalidated");
+    }
+
+    // 캐시에 있으면 바로 반환, 없으면 loader 결과를 저장 (loader 는 락 밖에서 실행)
+    @SuppressWarnings("unchecked")
+    public <V> V get(Type type, String query, String page, Supplier<V> loader) {
+        Key key = new Key(type, normalize(query), page);
+        long generation;
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.createdNanos < ttlNanos) {
+                    hits.get(type).increment();
+                    return (V) entry.value;
+                }
+                entries.remove(key);
+                expirations.increment();
+            }
+            generation = generations.get(type);
+        }
+
+        misses.get(type).increment();
+        V value = loader.get();
+
+        synchronized (this) {
+            if (generations.get(type) == generation) {
+                entries.put(key, new Entry(value, System.nanoTime(), terms(type, key.query)));
+                trim();
+            }
+        }
+        return value;
+    }
+
+    // 게시물 작성/삭제: 본문이 검색어를 포함하는 항목 제거
+    public void invalidatePosts(String content) {
+        String normalized = normalize(content);
+        Set<String> tokens = new HashSet<>(ContentTokenizer.tokenizeForIndex(content));
+        invalidate(Type.POSTS, (query, terms) -> normalized.contains(query)
+                || (!terms.isEmpty() && terms.stream().allMatch(term -> containsTerm(tokens, term))));
+    }
+
+    // 가입/프로필 변경: 아이디나 이름(변경 전후)에 검색어가 들어 있는 항목 제거
+    public void invalidateUsers(String... fields) {
+        List<String> normalized = Arrays.stream(fields).map(SearchResultCache::normalize).toList();
+        invalidate(Type.USERS, (query, terms) -> normalized.stream().anyMatch(field -> field.contains(query)));
+    }
+
+    private synchronized void invalidate(Type type, Matcher matcher) {
+        generations.merge(type, 1L, Long::sum);
+
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            Key key = entry.getKey();
+            if (key.type == type && matcher.matches(key.query, entry.getValue().terms)) {
+                iterator.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    private void trim() {
+        Iterator<Key> iterator = entries.keySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            sizeEvictions.increment();
+        }
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private double hitRatio(Type type) {
+        double hit = hits.get(type).count();
+        double total = hit + misses.get(type).count();
+        return total == 0 ? 0 : hit / total;
+    }
+
+    // 색인과 같은 기준 (단어 토큰은 접두어 일치)
+    private static boolean containsTerm(Set<String> tokens, String term) {
+        if (tokens.contains(term)) {
+            return true;
+        }
+        return ContentTokenizer.isWordToken(term) && tokens.stream().anyMatch(token -> token.startsWith(term));
+    }
+
+    private static Set<String> terms(Type type, String query) {
+        return type == Type.POSTS ? new HashSet<>(ContentTokenizer.tokenize(query)) : Set.of();
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("search.cache.evictions")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    @FunctionalInterface
+    private interface Matcher {
+        boolean matches(String query, Set<String> terms);
+    }
+
+    private record Key(Type type, String query, String page) {
+    }
+
+    private record Entry(Object value, long createdNanos, Set<String> terms) {
+    }
+}
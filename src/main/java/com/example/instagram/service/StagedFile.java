@@ -0,0 +1,12 @@
+package com.example.instagram.service;
+
+import java.nio.file.Path;
+
+// 트랜잭션 밖에서 임시 저장을 마친 업로드 (내용 해시 계산, 이미지 형식 확인 완료)
+public record StagedFile(Path temp, String hash, String extension, long size) {
+
+    // 저장될 파일 이름 (같은 내용이 이미 있으면 기존 이름을 씀)
+    public String fileName() {
+        return hash + extension;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.request.Cursor;
+import com.example.instagram.entity.Post;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public interface TimelineService {
+
+    // 게시물 작성 시 팔로워 타임라인에 push
+    void fanOut(Post post);
+
+    void removePost(Long postId);
+
+    // 팔로우/언팔로우 시 타임라인 보정
+    void follow(Long followerId, Long followingId);
+    void unfollow(Long followerId, Long followingId);
+
+    Slice<Long> getPostIds(Long ownerId, Pageable pageable);
+    List<Long> getPostIds(Long ownerId, Cursor cursor, int limit);
+}
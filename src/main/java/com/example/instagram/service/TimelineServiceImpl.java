@@ -0,0 +1,209 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.request.Cursor;
+import com.example.instagram.entity.Post;
+import com.example.instagram.repository.FollowRepository;
+import com.example.instagram.repository.PostRepository;
+import com.example.instagram.repository.TimelineEntry;
+import com.example.instagram.repository.TimelineRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TimelineServiceImpl implements TimelineService {
+
+    // 최신순: (작성 시각, 게시물 ID) 내림차순
+    private static final Comparator<TimelineEntry> NEWEST_FIRST =
+            Comparator.comparing(TimelineEntry::getCreatedAt)
+                    .thenComparing(TimelineEntry::getPostId)
+                    .reversed();
+
+    private final TimelineRepository timelineRepository;
+    private final FollowRepository followRepository;
+    private final PostRepository postRepository;
+    private final CelebrityRegistry celebrityRegistry;
+    private final FollowGraph followGraph;
+
+    // 팔로우 시 채워넣을 최근 게시물 수
+    @Value("${feed.timeline.backfill-size:100}")
+    private int backfillSize;
+
+    // 게시물 커밋 후에 호출되므로 별도 트랜잭션으로 저장
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void fanOut(Post post) {
+        // 유명 계정은 push 하지 않음 (조회 시 pull)
+        if (celebrityRegistry.isCelebrity(post.getUser().getId())) {
+            return;
+        }
+        timelineRepository.fanOut(post.getId(), post.getUser().getId(), post.getCreatedAt());
+    }
+
+    @Override
+    @Transactional
+    public void removePost(Long postId) {
+        timelineRepository.deleteByPostId(postId);
+    }
+
+    @Override
+    @Transactional
+    public void follow(Long followerId, Long followingId) {
+        if (celebrityRegistry.isCelebrity(followingId)) {
+            return;
+        }
+        timelineRepository.backfill(followerId, followingId, backfillSize);
+    }
+
+    @Override
+    @Transactional
+    public void unfollow(Long followerId, Long followingId) {
+        timelineRepository.deleteByOwnerIdAndAuthorId(followerId, followingId);
+    }
+
+    @Override
+    public Slice<Long> getPostIds(Long ownerId, Pageable pageable) {
+        // 페이지 번호 방식: 앞 페이지까지 포함해 병합한 뒤 잘라낸다
+        int offset = (int) pageable.getOffset();
+        List<Long> postIds = getPostIds(ownerId, Cursor.first(), offset + pageable.getPageSize() + 1);
+
+        List<Long> page = postIds.subList(Math.min(offset, postIds.size()),
+                Math.min(offset + pageable.getPageSize(), postIds.size()));
+        boolean hasNext = postIds.size() > offset + pageable.getPageSize();
+
+        return new SliceImpl<>(List.copyOf(page), pageable, hasNext);
+    }
+
+    @Override
+    public List<Long> getPostIds(Long ownerId, Cursor cursor, int limit) {
+        // push: 미리 쌓인 타임라인
+        EntrySource pushed = new EntrySource(cursor, limit, (after, pageRequest) ->
+                timelineRepository.findEntriesBeforeCursor(ownerId, after.getCreatedAt(), after.getId(), pageRequest));
+
+        // pull: 팔로우 중인 유명 계정의 게시물
+        Set<Long> celebrityIds = celebrityRegistry.getCelebrityIds();
+        if (celebrityIds.isEmpty()) {
+            return toPostIds(pushed.fetch());
+        }
+
+        List<Long> followedCelebrityIds = Arrays.stream(followGraph.following(ownerId))
+                .filter(celebrityIds::contains)
+                .boxed()
+                .toList();
+        if (followedCelebrityIds.isEmpty()) {
+            return toPostIds(pushed.fetch());
+        }
+
+        EntrySource pulled = new EntrySource(cursor, limit, (after, pageRequest) ->
+                postRepository.findFeedEntriesBeforeCursor(
+                        followedCelebrityIds, after.getCreatedAt(), after.getId(), pageRequest));
+
+        return merge(pushed, pulled, limit);
+    }
+
+    // 타임라인 테이블이 새로 생긴 경우 기존 팔로우 관계로 한 번 채워둔다
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (timelineRepository.count() == 0 && followRepository.count() > 0) {
+            timelineRepository.rebuildAll();
+        }
+    }
+
+    private List<Long> toPostIds(List<TimelineEntry> entries) {
+        return entries.stream()
+                .map(TimelineEntry::getPostId)
+                .toList();
+    }
+
+    // 정렬된 두 목록을 최신순으로 병합 (유명 계정 전환 전 push 된 게시물은 중복 제거)
+    // 중복을 건너뛰고도 limit 개를 채우도록 소진된 쪽은 다음 범위를 이어서 읽는다
+    // (호출하는 쪽이 limit + 1 개로 다음 페이지 여부를 판단하므로, 중복 때문에 덜 채워지면 마지막 페이지로 오인한다)
+    private List<Long> merge(EntrySource pushed, EntrySource pulled, int limit) {
+        List<Long> postIds = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+
+        while (postIds.size() < limit) {
+            TimelineEntry left = pushed.peek();
+            TimelineEntry right = pulled.peek();
+            if (left == null && right == null) {
+                break;
+            }
+
+            TimelineEntry next;
+            if (right == null || (left != null && NEWEST_FIRST.compare(left, right) <= 0)) {
+                next = pushed.next();
+            } else {
+                next = pulled.next();
+            }
+
+            if (seen.add(next.getPostId())) {
+                postIds.add(next.getPostId());
+            }
+        }
+        return postIds;
+    }
+
+    // 커서 이후 최신순 항목을 batchSize 개씩 이어서 읽는 원본
+    private static final class EntrySource {
+
+        private final int batchSize;
+        private final BiFunction<Cursor, Pageable, List<TimelineEntry>> query;
+        private Cursor after;
+        private List<TimelineEntry> batch = List.of();
+        private int index;
+        private boolean exhausted;
+
+        EntrySource(Cursor after, int batchSize, BiFunction<Cursor, Pageable, List<TimelineEntry>> query) {
+            this.after = after;
+            this.batchSize = batchSize;
+            this.query = query;
+        }
+
+        // 첫 범위만 읽는다 (병합이 필요 없는 경우)
+        List<TimelineEntry> fetch() {
+            return query.apply(after, PageRequest.of(0, batchSize));
+        }
+
+        TimelineEntry peek() {
+            if (index == batch.size()) {
+                if (exhausted) {
+                    return null;
+                }
+                batch = fetch();
+                index = 0;
+                exhausted = batch.size() < batchSize;
+                if (batch.isEmpty()) {
+                    return null;
+                }
+                TimelineEntry last = batch.get(batch.size() - 1);
+                after = new Cursor(last.getCreatedAt(), last.getPostId());
+            }
+            return batch.get(index);
+        }
+
+        TimelineEntry next() {
+            TimelineEntry entry = peek();
+            index++;
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 탐색 탭 인기 게시물 랭킹
+// 게시물 작성/좋아요/댓글마다 e^(λ(t - epoch)) 만큼 점수를 더해두면,
+// 현재 점수 = 저장값 * e^(-λ(now - epoch)) 이므로 모든 게시물이 같은 비율로 감쇠해 순위 비교에는 저장값만 쓰면 된다
+// 주기적으로 상위 K 개를 미리 정렬해두고 탐색 페이지는 그 배열에서 잘라 읽는다
+// 정렬 결과는 버전을 붙여 최근 몇 개를 보관하므로, 스크롤 중에 순위가 갱신되어도 처음 읽던 버전으로 이어서 읽을 수 있다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingEngine {
+
+    private static final double POST_WEIGHT = 1.0;
+    private static final double LIKE_WEIGHT = 1.0;
+    private static final double COMMENT_WEIGHT = 2.0;
+
+    // 지수가 이 값을 넘으면 기준 시각을 옮겨 double 오버플로를 막는다
+    private static final double MAX_EXPONENT = 50.0;
+
+    private final PostRepository postRepository;
+
+    @Value("${explore.trending.half-life-hours:6}")
+    private double halfLifeHours;
+
+    @Value("${explore.trending.top-k:500}")
+    private int topK;
+
+    @Value("${explore.trending.max-tracked:10000}")
+    private int maxTracked;
+
+    // 보관할 순위 버전 수 (갱신 주기 x 개수 만큼 이전 버전으로 스크롤을 이어갈 수 있다)
+    @Value("${explore.trending.snapshot-retention:40}")
+    private int snapshotRetention;
+
+    private final Map<Long, DoubleAdder> scores = new ConcurrentHashMap<>();
+
+    // 점수 누적은 읽기 락, 기준 시각 변경은 쓰기 락
+    private final ReadWriteLock epochLock = new ReentrantReadWriteLock();
+    private volatile long epochMillis = System.currentTimeMillis();
+
+    private final ConcurrentNavigableMap<Long, Snapshot> snapshots = new ConcurrentSkipListMap<>();
+    private volatile Snapshot current = new Snapshot(0, new long[0]);
+
+    // 작성/좋아요/댓글은 트랜잭션이 커밋된 뒤 반영 (롤백된 변경은 점수에 넣지 않음)
+    public void onPostCreated(Long postId, LocalDateTime createdAt) {
+        afterCommit(() -> add(postId, POST_WEIGHT, toMillis(createdAt)));
+    }
+
+    public void onLike(Long postId, int delta) {
+        afterCommit(() -> add(postId, LIKE_WEIGHT * delta, System.currentTimeMillis()));
+    }
+
+    public void onComment(Long postId, int delta) {
+        afterCommit(() -> add(postId, COMMENT_WEIGHT * delta, System.currentTimeMillis()));
+    }
+
+    public void onPostDeleted(Long postId) {
+        scores.remove(postId);
+    }
+
+    // 현재 순위에서 offset 부터 limit 개
+    public List<Long> getRanking(long offset, int limit) {
+        return current.slice(offset, limit);
+    }
+
+    public Snapshot currentSnapshot() {
+        return current;
+    }
+
+    // 보관 중인 버전, 이미 밀려난 버전이면 null (어디까지 읽었는지 다른 버전의 위치로는 알 수 없으므로 호출하는 쪽이 처리)
+    public Snapshot snapshot(long version) {
+        return snapshots.get(version);
+    }
+
+    @Scheduled(fixedDelayString = "${explore.trending.refresh-interval-ms:30000}")
+    public void refresh() {
+        rebaseIfNeeded();
+
+        // 점수 하위 항목 정리 (추적 개수 상한)
+        if (scores.size() > maxTracked) {
+            double cutoff = kthLargest(maxTracked);
+            scores.entrySet().removeIf(entry -> entry.getValue().sum() < cutoff);
+        }
+
+        // 상위 K 개 선정 (크기 K 의 최소 힙)
+        PriorityQueue<Scored> heap = new PriorityQueue<>(topK + 1, (a, b) -> Double.compare(a.score, b.score));
+        scores.forEach((postId, score) -> {
+            heap.offer(new Scored(postId, score.sum()));
+            if (heap.size() > topK) {
+                heap.poll();
+            }
+        });
+
+        long[] next = new long[heap.size()];
+        for (int i = next.length - 1; i >= 0; i--) {
+            next[i] = heap.poll().postId;
+        }
+        publish(next);
+    }
+
+    // 기동 시 최근 게시물로 점수 초기화 (좋아요/댓글은 작성 시점에 일어난 것으로 근사)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        postRepository.findRecentCounters(PageRequest.of(0, maxTracked)).forEach(row -> add(
+                row.getId(),
+                POST_WEIGHT + LIKE_WEIGHT * row.getLikeCount() + COMMENT_WEIGHT * row.getCommentCount(),
+                toMillis(row.getCreatedAt())));
+        refresh();
+        log.info("탐색 랭킹 초기화: 게시물 {}개", scores.size());
+    }
+
+    private void add(Long postId, double weight, long eventMillis) {
+        epochLock.readLock().lock();
+        try {
+            double value = weight * Math.exp(lambda() * (eventMillis - epochMillis));
+            scores.computeIfAbsent(postId, key -> new DoubleAdder()).add(value);
+        } finally {
+            epochLock.readLock().unlock();
+        }
+    }
+
+    // 버전은 갱신 시각 (재기동 전에 받은 커서가 다른 순위를 가리키지 않도록)
+    private void publish(long[] postIds) {
+        long version = Math.max(System.currentTimeMillis(), current.version() + 1);
+        Snapshot snapshot = new Snapshot(version, postIds);
+        snapshots.put(version, snapshot);
+        current = snapshot;
+
+        while (snapshots.size() > snapshotRetention) {
+            snapshots.pollFirstEntry();
+        }
+    }
+
+    // 트랜잭션 안이면 커밋 후에 반영
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void rebaseIfNeeded() {
+        long now = System.currentTimeMillis();
+        double exponent = lambda() * (now - epochMillis);
+        if (exponent < MAX_EXPONENT) {
+            return;
+        }
+
+        epochLock.writeLock().lock();
+        try {
+            double factor = Math.exp(-lambda() * (now - epochMillis));
+            scores.values().forEach(score -> {
+                double rebased = score.sumThenReset() * factor;
+                score.add(rebased);
+            });
+            epochMillis = now;
+        } finally {
+            epochLock.writeLock().unlock();
+        }
+    }
+
+    private double kthLargest(int k) {
+        double[] values = scores.values().stream().mapToDouble(DoubleAdder::sum).toArray();
+        Arrays.sort(values);
+        return values[Math.max(0, values.length - k)];
+    }
+
+    // 밀리초당 감쇠율
+    private double lambda() {
+        return Math.log(2) / (halfLifeHours * 3_600_000);
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Scored(long postId, double score) {
+    }
+
+    // 한 번 정렬한 순위 (불변)
+    public static final class Snapshot {
+        private final long version;
+        private final long[] postIds;
+        // 포함 여부 확인용 정렬 사본
+        private final long[] sortedPostIds;
+
+        Snapshot(long version, long[] postIds) {
+            this.version = version;
+            this.postIds = postIds;
+            this.sortedPostIds = postIds.clone();
+            Arrays.sort(sortedPostIds);
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public int size() {
+            return postIds.length;
+        }
+
+        public List<Long> slice(long offset, int limit) {
+            int from = (int) Math.min(offset, postIds.length);
+            int to = (int) Math.min(offset + limit, postIds.length);
+            return Arrays.stream(postIds, from, to).boxed().toList();
+        }
+
+        public boolean contains(long postId) {
+            return Arrays.binarySearch(sortedPostIds, postId) >= 0;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.instagram.service;
+
+import com.example.instagram.entity.StoredFile;
+import com.example.instagram.repository.PostRepository;
+import com.example.instagram.repository.StoredFileRepository;
+import com.example.instagram.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// 참조되지 않는 업로드 파일 정리
+// 업로드 디렉터리를 한 번에 훑지 않고, 실행마다 최대 batch-size 개 항목만 이어서 읽어 (디렉터리 순회는 다음 실행으로 이어짐)
+// posts.image_url / users.profile_image_url 어디에도 없는 원본과 그 축소본을 지운다
+// 막 저장됐지만 아직 커밋 전인 파일을 지우지 않도록 grace-period 보다 오래된 파일만 대상으로 한다
+@Slf4j
+@Component
+public class UploadGarbageCollector {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("([0-9a-f]{64})\\.[a-z]+");
+
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final StoredFileRepository storedFileRepository;
+    private final MediaCache mediaCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Path uploadPath;
+    private final int batchSize;
+    private final long gracePeriodMillis;
+    private final Set<String> keep;
+
+    private final Counter deletedFiles;
+    private final Counter reclaimedBytes;
+
+    // 정리 실행과 종료 처리 직렬화
+    // DB 락 대기와 파일 삭제 동안 잡고 있으므로 synchronized 대신 사용 (가상 스레드가 캐리어 스레드를 고정하지 않도록)
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 진행 중인 디렉터리 순회 (실행 사이에 유지)
+    private DirectoryStream<Path> stream;
+    private Iterator<Path> iterator;
+    private long passFiles;
+    private long passBytes;
+
+    public UploadGarbageCollector(PostRepository postRepository,
+                                  UserRepository userRepository,
+                                  StoredFileRepository storedFileRepository,
+                                  MediaCache mediaCache,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${file.upload-dir}") String uploadDir,
+                                  @Value("${upload.gc.batch-size:500}") int batchSize,
+                                  @Value("${upload.gc.grace-period-ms:3600000}") long gracePeriodMillis,
+                                  @Value("${upload.gc.keep:default-profile.png}") Set<String> keep) {
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.storedFileRepository = storedFileRepository;
+        this.mediaCache = mediaCache;
+        this.transactionTemplate = transactionTemplate;
+        this.uploadPath = Paths.get(uploadDir);
+        this.batchSize = batchSize;
+        this.gracePeriodMillis = gracePeriodMillis;
+        this.keep = keep;
+
+        this.deletedFiles = Counter.builder("uploads.gc.deleted")
+                .description("정리한 업로드 파일 수")
+                .register(meterRegistry);
+        this.reclaimedBytes = Counter.builder("uploads.gc.reclaimed")
+                .description("정리로 확보한 디스크 용량")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${upload.gc.initial-delay-ms:300000}",
+            fixedDelayString = "${upload.gc.interval-ms:60000}")
+    public void sweep() {
+        lock.lock();
+        try {
+            if (!Files.isDirectory(uploadPath)) {
+                return;
+            }
+
+            try {
+                List<Candidate> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    long[] reclaimed = transactionTemplate.execute(status -> collect(batch));
+                    passFiles += reclaimed[0];
+                    passBytes += reclaimed[1];
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("업로드 파일 정리 실패", e);
+                closePass();
+            }
+
+            if (iterator == null && passFiles > 0) {
+                log.info("업로드 파일 정리: 파일 {}개, {} bytes 확보", passFiles, passBytes);
+            }
+            if (iterator == null) {
+                passFiles = 0;
+                passBytes = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void closePass() {
+        lock.lock();
+        try {
+            iterator = null;
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException ignored) {
+                    // 종료 중
+                }
+                stream = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 이어서 최대 batchSize 개 항목을 읽고, 오래된 일반 파일만 후보로 (순회가 끝나면 다음 실행에서 처음부터)
+    private List<Candidate> nextBatch() throws IOException {
+        if (iterator == null) {
+            deleteStaleTempFiles();
+            stream = Files.newDirectoryStream(uploadPath);
+            iterator = stream.iterator();
+        }
+
+        long cutoff = System.currentTimeMillis() - gracePeriodMillis;
+        List<Candidate> batch = new ArrayList<>();
+        int examined = 0;
+        while (examined < batchSize && iterator.hasNext()) {
+            Path path = iterator.next();
+            examined++;
+
+            String fileName = path.getFileName().toString();
+            if (fileName.startsWith(".") || keep.contains(fileName)) {
+                continue;
+            }
+            BasicFileAttributes attributes = readAttributes(path);
+            if (attributes != null && attributes.isRegularFile()
+                    && attributes.lastModifiedTime().toMillis() < cutoff) {
+                batch.add(new Candidate(path, fileName, attributes.size()));
+            }
+        }
+
+        if (!iterator.hasNext()) {
+            closePass();
+        }
+        return batch;
+    }
+
+    // 삭제한 (파일 수, 바이트 수)
+    private long[] collect(List<Candidate> batch) {
+        long[] reclaimed = new long[2];
+
+        List<Candidate> originals = new ArrayList<>();
+        for (Candidate candidate : batch) {
+            String base = ImageVariant.originalBase(candidate.fileName);
+            if (base == null) {
+                originals.add(candidate);
+            } else if (!originalExists(base)) {
+                // 원본이 이미 없는 축소본
+                delete(candidate.path, candidate.fileName, candidate.size, reclaimed);
+            }
+        }
+        if (originals.isEmpty()) {
+            return reclaimed;
+        }
+
+        // 같은 내용이 동시에 다시 업로드되지 않도록 잠근 뒤에 참조 여부 확인
+        Set<String> hashes = originals.stream()
+                .map(candidate -> CONTENT_ADDRESSED.matcher(candidate.fileName))
+                .filter(Matcher::matches)
+                .map(matcher -> matcher.group(1))
+                .collect(Collectors.toSet());
+        Map<String, StoredFile> storedFiles = hashes.isEmpty()
+                ? Map.of()
+                : storedFileRepository.lockByHashIn(hashes).stream()
+                        .collect(Collectors.toMap(StoredFile::getFileName, Function.identity()));
+
+        Map<String, Candidate> byUrl = originals.stream()
+                .collect(Collectors.toMap(candidate -> FileServiceImpl.URL_PREFIX + candidate.fileName, Function.identity()));
+        Set<String> referenced = new HashSet<>(postRepository.findImageUrlsIn(byUrl.keySet()));
+        referenced.addAll(userRepository.findProfileImageUrlsIn(byUrl.keySet()));
+
+        List<String> deleted = new ArrayList<>();
+        byUrl.forEach((url, candidate) -> {
+            if (referenced.contains(url)) {
+                return;
+            }
+            delete(candidate.path, candidate.fileName, candidate.size, reclaimed);
+            for (ImageVariant variant : ImageVariant.values()) {
+                Path derivative = candidate.path.resolveSibling(variant.fileName(candidate.fileName));
+                BasicFileAttributes attributes = readAttributes(derivative);
+                if (attributes != null) {
+                    delete(derivative, derivative.getFileName().toString(), attributes.size(), reclaimed);
+                }
+            }
+            if (storedFiles.containsKey(candidate.fileName)) {
+                deleted.add(candidate.fileName);
+            }
+        });
+
+        if (!deleted.isEmpty()) {
+            storedFileRepository.deleteByFileNameIn(deleted);
+        }
+        return reclaimed;
+    }
+
+    private boolean originalExists(String base) {
+        for (String extension : FileServiceImpl.ALLOWED_EXTENSIONS) {
+            if (Files.exists(uploadPath.resolve(base + extension))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void delete(Path path, String fileName, long size, long[] reclaimed) {
+        try {
+            if (Files.deleteIfExists(path)) {
+                mediaCache.evict(fileName);
+                deletedFiles.increment();
+                reclaimedBytes.increment(size);
+                reclaimed[0]++;
+                reclaimed[1] += size;
+            }
+        } catch (IOException e) {
+            log.warn("업로드 파일 삭제 실패: {}", fileName, e);
+        }
+    }
+
+    // 업로드 도중 중단되어 남은 임시 파일
+    private void deleteStaleTempFiles() throws IOException {
+        Path tempPath = uploadPath.resolve(FileServiceImpl.TEMP_DIR);
+        if (!Files.isDirectory(tempPath)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - gracePeriodMillis;
+        try (DirectoryStream<Path> temps = Files.newDirectoryStream(tempPath)) {
+            for (Path temp : temps) {
+                BasicFileAttributes attributes = readAttributes(temp);
+                if (attributes != null && attributes.lastModifiedTime().toMillis() < cutoff) {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        }
+    }
+
+    private BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("업로드 파일 정보 조회 실패: {}", path.getFileName(), e);
+            return null;
+        }
+    }
+
+    private record Candidate(Path path, String fileName, long size) {
+    }
+}
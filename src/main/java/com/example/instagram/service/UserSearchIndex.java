@@ -0,0 +1,236 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.response.UserSuggestionResponse;
+import com.example.instagram.entity.User;
+import com.example.instagram.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// 사용자 검색 자동완성 색인 (메모리)
+// 아이디/이름 접두어는 정렬된 맵의 구간으로, 중간 일치는 글자 2-gram 목록의 교집합으로 찾는다
+// 일치 품질(아이디 완전 일치 > 아이디 접두어 > 이름 접두어 > 중간 일치) -> 팔로워 수 순으로 상위 K 명만 반환한다
+// 일치하는 사용자는 모두 보되, 크기 K 의 힙으로 상위만 남겨 전체 정렬은 하지 않는다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final int EXACT = 4;
+    private static final int USERNAME_PREFIX = 3;
+    private static final int NAME_PREFIX = 2;
+    private static final int INFIX = 1;
+
+    // 일치 품질 -> 팔로워 수 -> 아이디 순
+    private static final Comparator<Ranked> RANKING = Comparator.comparingInt(Ranked::quality).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::followers).reversed())
+            .thenComparing(ranked -> ranked.entry.username);
+
+    private final UserRepository userRepository;
+    private final FollowGraph followGraph;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // 소문자 키 -> 사용자 ID (아이디, 이름의 각 단어)
+    private final NavigableMap<String, Set<Long>> prefixes = new TreeMap<>();
+    private final Map<String, Set<Long>> bigrams = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 가입/프로필 수정 시 호출 (같은 사용자는 교체)
+    public void index(User user) {
+        index(user.getId(), user.getUsername(), user.getName(), user.getProfileImageUrl());
+    }
+
+    public List<UserSuggestionResponse> search(String query, int limit) {
+        String keyword = normalize(query);
+        if (keyword.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> quality = new HashMap<>();
+
+            // 1. 접두어 일치 (아이디, 이름 단어)
+            for (Set<Long> userIds : prefixes.subMap(keyword, true, keyword + Character.MAX_VALUE, true).values()) {
+                for (Long userId : userIds) {
+                    quality.merge(userId, prefixQuality(entries.get(userId), keyword), Math::max);
+                }
+            }
+
+            // 2. 중간 일치 (두 글자 이상)
+            if (keyword.length() >= 2) {
+                for (Long userId : infixCandidates(keyword)) {
+                    Entry entry = entries.get(userId);
+                    if (entry.username.contains(keyword) || entry.name.contains(keyword)) {
+                        quality.putIfAbsent(userId, INFIX);
+                    }
+                }
+            }
+
+            // 3. 상위 limit 명 (순위가 가장 낮은 사용자가 힙의 맨 위)
+            int size = Math.max(1, limit);
+            PriorityQueue<Ranked> heap = new PriorityQueue<>(size + 1, RANKING.reversed());
+            quality.forEach((userId, matchQuality) -> {
+                heap.offer(new Ranked(entries.get(userId), matchQuality, followGraph.followerCount(userId)));
+                if (heap.size() > size) {
+                    heap.poll();
+                }
+            });
+
+            return heap.stream()
+                    .sorted(RANKING)
+                    .map(ranked -> ranked.entry.toResponse())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long lastId = 0;
+        while (true) {
+            List<Object[]> batch = userRepository.findSearchFieldsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (Object[] row : batch) {
+                lastId = (Long) row[0];
+                index(lastId, (String) row[1], (String) row[2], (String) row[3]);
+            }
+        }
+        ready = true;
+        log.info("사용자 검색 색인: 사용자 {}명", entries.size());
+    }
+
+    private void index(Long userId, String username, String name, String profileImageUrl) {
+        Entry entry = new Entry(userId, normalize(username), normalize(name), username, name, profileImageUrl);
+
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(userId, entry);
+            if (previous != null) {
+                forEachKey(previous, key -> remove(prefixes, key, userId), gram -> remove(bigrams, gram, userId));
+            }
+            forEachKey(entry,
+                    key -> prefixes.computeIfAbsent(key, k -> new HashSet<>()).add(userId),
+                    gram -> bigrams.computeIfAbsent(gram, k -> new HashSet<>()).add(userId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 접두어 키(아이디, 이름 단어)와 2-gram 을 순회
+    private void forEachKey(Entry entry, Consumer<String> prefixKey, Consumer<String> bigram) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(entry.username);
+        for (String word : entry.name.split("\\s+")) {
+            if (!word.isEmpty()) {
+                keys.add(word);
+            }
+        }
+        keys.forEach(prefixKey);
+
+        Set<String> grams = new HashSet<>();
+        addBigrams(entry.username, grams);
+        addBigrams(entry.name, grams);
+        grams.forEach(bigram);
+    }
+
+    // 검색어의 모든 2-gram 을 가진 사용자 (짧은 목록부터 교집합)
+    private Set<Long> infixCandidates(String keyword) {
+        Set<String> grams = new HashSet<>();
+        addBigrams(keyword, grams);
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams) {
+            Set<Long> list = bigrams.get(gram);
+            if (list == null) {
+                return Set.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new LinkedHashSet<>();
+        for (Long userId : lists.get(0)) {
+            if (lists.stream().skip(1).allMatch(list -> list.contains(userId))) {
+                result.add(userId);
+            }
+        }
+        return result;
+    }
+
+    private int prefixQuality(Entry entry, String keyword) {
+        if (entry.username.equals(keyword)) {
+            return EXACT;
+        }
+        if (entry.username.startsWith(keyword)) {
+            return USERNAME_PREFIX;
+        }
+        return NAME_PREFIX;
+    }
+
+    private static void addBigrams(String text, Set<String> grams) {
+        for (int i = 0; i + 1 < text.length(); i++) {
+            grams.add(text.substring(i, i + 2));
+        }
+    }
+
+    private static void remove(Map<String, Set<Long>> index, String key, Long userId) {
+        Set<Long> userIds = index.get(key);
+        if (userIds != null) {
+            userIds.remove(userId);
+            if (userIds.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(Long id, String username, String name,
+                         String displayUsername, String displayName, String profileImageUrl) {
+
+        UserSuggestionResponse toResponse() {
+            return UserSuggestionResponse.builder()
+                    .id(id)
+                    .username(displayUsername)
+                    .name(displayName)
+                    .profileImageUrl(ImageVariant.AVATAR.urlOf(profileImageUrl))
+                    .build();
+        }
+    }
+
+    private record Ranked(Entry entry, int quality, long followers) {
+    }
+}
@@ -4,6 +4,7 @@ import com.example.instagram.dto.request.ProfileUpdateRequest;
 import com.example.instagram.dto.request.SignUpRequest;
 import com.example.instagram.dto.response.ProfileResponse;
 import com.example.instagram.dto.response.UserResponse;
+import com.example.instagram.dto.response.UserSuggestionResponse;
 import com.example.instagram.entity.User;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -25,6 +26,6 @@ public interface UserService {
 
     void updateProfile(Long userId, ProfileUpdateRequest profileUpdateRequest, MultipartFile profileImg);
 
-    // 사용자 검색
-    List<UserResponse> searchUsers(String keyword);
+    // 사용자 검색 (자동완성, 최대 size 명)
+    List<UserSuggestionResponse> searchUsers(String keyword, int size);
 }
\ No newline at end of file
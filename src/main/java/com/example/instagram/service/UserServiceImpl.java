@@ -4,17 +4,22 @@ import com.example.instagram.dto.request.ProfileUpdateRequest;
 import com.example.instagram.dto.request.SignUpRequest;
 import com.example.instagram.dto.response.ProfileResponse;
 import com.example.instagram.dto.response.UserResponse;
+import com.example.instagram.dto.response.UserSuggestionResponse;
 import com.example.instagram.entity.Role;
 import com.example.instagram.entity.User;
 import com.example.instagram.exception.BusinessException;
 import com.example.instagram.exception.ErrorCode;
-import com.example.instagram.repository.FollowRepository;
 import com.example.instagram.repository.PostRepository;
 import com.example.instagram.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -28,10 +33,13 @@ public class UserServiceImpl implements UserService{
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     //    private final FollowService followService;
-    private final FollowRepository followRepository;
+    private final FollowGraph followGraph;
     //    private final PostService postService;
     private final PostRepository postRepository;
     private final FileService fileService;
+    private final UserSearchIndex userSearchIndex;
+    private final SearchResultCache searchResultCache;
+    private final TransactionTemplate transactionTemplate;
 
 
     @Override
@@ -44,7 +52,12 @@ public class UserServiceImpl implements UserService{
                 .role(Role.USER)
                 .password(passwordEncoder.encode(signUpRequest.getPassword()))
                 .build();
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        afterCommit(() -> {
+            userSearchIndex.index(saved);
+            searchResultCache.invalidateUsers(saved.getUsername(), saved.getName());
+        });
+        return saved;
     }
 
     @Override
@@ -64,8 +77,8 @@ public class UserServiceImpl implements UserService{
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
 
         long postCount = postRepository.countByUserId(user.getId());
-        long followerCount = followRepository.countByFollowingId(user.getId());
-        long followingCount = followRepository.countByFollowerId(user.getId());
+        long followerCount = followGraph.followerCount(user.getId());
+        long followingCount = followGraph.followingCount(user.getId());
 
         return ProfileResponse.from(user, postCount, followerCount, followingCount);
     }
@@ -82,26 +95,63 @@ public class UserServiceImpl implements UserService{
         return UserResponse.from(user);
     }
 
+    // 이미지는 트랜잭션 밖에서 임시 저장하고, 프로필 변경은 짧은 트랜잭션으로 저장
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void updateProfile(Long userId, ProfileUpdateRequest profileUpdateRequest, MultipartFile profileImg) {
+        StagedFile staged = fileService.stage(profileImg);
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyProfileUpdate(userId, profileUpdateRequest, staged));
+        } catch (RuntimeException e) {
+            fileService.discard(staged);
+            throw e;
+        }
+    }
+
+    private void applyProfileUpdate(Long userId, ProfileUpdateRequest profileUpdateRequest, StagedFile staged) {
         User user = findById(userId);
+        String previousName = user.getName();
 
         // 프로필 이미지 처리
-        if (profileImg != null && !profileImg.isEmpty()) {
-            String savedFilename = fileService.saveFile(profileImg);
+        if (staged != null) {
+            String savedFilename = fileService.store(staged);
             String imageUrl = "/uploads/" +  savedFilename;
+            fileService.release(user.getProfileImageUrl());
             user.updateProfileImage(imageUrl);
         }
 
         user.updateProfile(profileUpdateRequest.getName(), profileUpdateRequest.getBio());
+        afterCommit(() -> {
+            userSearchIndex.index(user);
+            searchResultCache.invalidateUsers(user.getUsername(), previousName, user.getName());
+        });
     }
 
     @Override
-    public List<UserResponse> searchUsers(String keyword) {
-        return userRepository.searchByKeyword(keyword).stream()
-                .map(UserResponse::from)
-                .toList();
+    public List<UserSuggestionResponse> searchUsers(String keyword, int size) {
+        return searchResultCache.get(SearchResultCache.Type.USERS, keyword, "size:" + size, () -> {
+            // 색인 로딩 전에는 DB 검색 (개수 제한)
+            if (!userSearchIndex.isReady()) {
+                return userRepository.searchByKeyword(keyword, PageRequest.of(0, size)).stream()
+                        .map(UserSuggestionResponse::from)
+                        .toList();
+            }
+            return userSearchIndex.search(keyword, size);
+        });
+    }
+
+    // 검색 색인과 캐시는 커밋 후에 갱신 (커밋 전에 지우면 그 사이 조회가 변경 전 결과를 다시 캐시한다)
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
 
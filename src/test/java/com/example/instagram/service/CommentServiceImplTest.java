@@ -0,0 +1,126 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.request.Cursor;
+import com.example.instagram.dto.response.CommentResponse;
+import com.example.instagram.dto.response.CursorSlice;
+import com.example.instagram.entity.Comment;
+import com.example.instagram.entity.User;
+import com.example.instagram.repository.CommentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CommentServiceImplTest {
+
+    private static final Long POST_ID = 1L;
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PostCounterCache postCounterCache;
+
+    @Mock
+    private TrendingEngine trendingEngine;
+
+    @InjectMocks
+    private CommentServiceImpl commentService;
+
+    private final User user = user();
+
+    @Test
+    void 답글_미리보기는_스레드마다_순위로_잘라_한_번에_조회한다() {
+        // 100 은 답글 있음, 200 은 답글 없음
+        Comment withReplies = root(100L, 2);
+        Comment withoutReplies = root(200L, 0);
+        given(commentRepository.findRootsBeforeCursor(eq(POST_ID), any(), anyLong(), any(Pageable.class)))
+                .willReturn(List.of(withReplies, withoutReplies));
+        // 순번 1 ~ 2 는 지워져서 3, 5 가 앞쪽 답글
+        given(commentRepository.findReplyPreviewIds(List.of(100L), 3)).willReturn(List.of(103L, 105L));
+        given(commentRepository.findAllWithUserByIdIn(List.of(103L, 105L)))
+                .willReturn(List.of(reply(103L, 100L, 3), reply(105L, 100L, 5)));
+
+        CursorSlice<CommentResponse> slice = commentService.getComments(POST_ID, Cursor.decode(""), 20);
+
+        assertThat(slice.getContent()).extracting(CommentResponse::getId).containsExactly(100L, 200L);
+        assertThat(slice.getContent().get(0).getReplies()).extracting(CommentResponse::getReplySeq)
+                .containsExactly(3L, 5L);
+        assertThat(slice.getContent().get(1).getReplies()).isEmpty();
+    }
+
+    @Test
+    void 답글이_있는_스레드가_없으면_답글을_조회하지_않는다() {
+        given(commentRepository.findRootsBeforeCursor(eq(POST_ID), any(), anyLong(), any(Pageable.class)))
+                .willReturn(List.of(root(200L, 0)));
+
+        commentService.getComments(POST_ID, Cursor.decode(""), 20);
+
+        verify(commentRepository, never()).findReplyPreviewIds(any(), anyInt());
+    }
+
+    @Test
+    void 답글_목록은_게시물로_범위를_제한한다() {
+        given(commentRepository.findRepliesAfter(eq(POST_ID), eq(100L), eq(0L), any(Pageable.class)))
+                .willReturn(List.of(reply(101L, 100L, 1), reply(102L, 100L, 2)));
+
+        CursorSlice<CommentResponse> slice = commentService.getReplies(POST_ID, 100L, 0, 1);
+
+        assertThat(slice.getContent()).extracting(CommentResponse::getId).containsExactly(101L);
+        assertThat(slice.getNextCursor()).isEqualTo("1");
+        assertThat(slice.isHasNext()).isTrue();
+    }
+
+    private Comment root(Long id, long replyCount) {
+        Comment comment = Comment.builder().content("root " + id).user(user).build();
+        ReflectionTestUtils.setField(comment, "id", id);
+        ReflectionTestUtils.setField(comment, "replyCount", replyCount);
+        ReflectionTestUtils.setField(comment, "createdAt", LocalDateTime.now());
+        return comment;
+    }
+
+    private Comment reply(Long id, Long rootId, long replySeq) {
+        Comment comment = Comment.builder()
+                .content("reply " + id)
+                .user(user)
+                .rootId(rootId)
+                .parentId(rootId)
+                .replySeq(replySeq)
+                .build();
+        ReflectionTestUtils.setField(comment, "id", id);
+        return comment;
+    }
+
+    private User user() {
+        User user = User.builder()
+                .username("user")
+                .password("password")
+                .email("user@example.com")
+                .name("user")
+                .build();
+        ReflectionTestUtils.setField(user, "id", 10L);
+        return user;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.instagram.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentTokenizerTest {
+
+    @Test
+    void 영문은_소문자_단어로_나눈다() {
+        assertThat(ContentTokenizer.tokenize("Hello, Instagram World!"))
+                .containsExactly("hello", "instagram", "world");
+    }
+
+    @Test
+    void 한글은_두_글자씩_나눈다() {
+        assertThat(ContentTokenizer.tokenize("한강공원"))
+                .containsExactly("한강", "강공", "공원");
+    }
+
+    @Test
+    void 한_글자_검색어는_한_글자_토큰이다() {
+        assertThat(ContentTokenizer.tokenize("강")).containsExactly("강");
+    }
+
+    @Test
+    void 색인할_때는_한_글자_토큰도_넣는다() {
+        // 한 글자 검색어 "강" 이 2-gram 만 있는 본문에서도 일치하도록
+        assertThat(ContentTokenizer.tokenizeForIndex("한강"))
+                .containsExactlyInAnyOrder("한강", "한", "강");
+        assertThat(ContentTokenizer.tokenizeForIndex("한강"))
+                .containsAll(ContentTokenizer.tokenize("강"));
+    }
+
+    @Test
+    void 색인해도_영문_단어는_그대로다() {
+        assertThat(ContentTokenizer.tokenizeForIndex("instagram 사진"))
+                .containsExactlyInAnyOrder("instagram", "사진", "사", "진");
+    }
+
+    @Test
+    void 글자_종류가_바뀌면_토큰을_나눈다() {
+        assertThat(ContentTokenizer.tokenize("여름sale중"))
+                .containsExactly("여름", "sale", "중");
+    }
+
+    @Test
+    void 단어_토큰만_접두어_검색_대상이다() {
+        assertThat(ContentTokenizer.isWordToken("insta")).isTrue();
+        assertThat(ContentTokenizer.isWordToken("2024")).isTrue();
+        assertThat(ContentTokenizer.isWordToken("강")).isFalse();
+        assertThat(ContentTokenizer.isWordToken("한강")).isFalse();
+    }
+
+    @Test
+    void 빈_문자열은_토큰이_없다() {
+        assertThat(ContentTokenizer.tokenize(null)).isEmpty();
+        assertThat(ContentTokenizer.tokenize("  !! ")).isEmpty();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.instagram.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountMinSketchTest {
+
+    @Test
+    void 추정값은_실제_횟수보다_작지_않다() {
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+        Map<String, Integer> actual = new HashMap<>();
+        // 칸보다 키가 많아 충돌이 생기는 상황
+        for (int i = 0; i < 1_000; i++) {
+            String key = "tag" + (i % 300);
+            sketch.add(CountMinSketch.hash(key), 1);
+            actual.merge(key, 1, Integer::sum);
+        }
+
+        actual.forEach((key, count) ->
+                assertThat(sketch.estimate(CountMinSketch.hash(key))).isGreaterThanOrEqualTo(count));
+    }
+
+    @Test
+    void 키가_적으면_정확하다() {
+        CountMinSketch sketch = new CountMinSketch(2048, 4);
+        sketch.add(CountMinSketch.hash("seoul"), 3);
+        sketch.add(CountMinSketch.hash("busan"), 1);
+
+        assertThat(sketch.estimate(CountMinSketch.hash("seoul"))).isEqualTo(3);
+        assertThat(sketch.estimate(CountMinSketch.hash("busan"))).isEqualTo(1);
+        assertThat(sketch.estimate(CountMinSketch.hash("jeju"))).isZero();
+    }
+
+    @Test
+    void 같은_크기의_스케치를_빼면_그만큼_줄어든다() {
+        CountMinSketch total = new CountMinSketch(2048, 4);
+        CountMinSketch bucket = new CountMinSketch(2048, 4);
+        long hash = CountMinSketch.hash("seoul");
+        total.add(hash, 5);
+        bucket.add(hash, 2);
+
+        total.subtract(bucket);
+        assertThat(total.estimate(hash)).isEqualTo(3);
+
+        total.clear();
+        assertThat(total.estimate(hash)).isZero();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.request.Cursor;
+import com.example.instagram.entity.Post;
+import com.example.instagram.entity.User;
+import com.example.instagram.repository.LikeRepository;
+import com.example.instagram.repository.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class FeedRankingPipelineTest {
+
+    private static final Long VIEWER_ID = 7L;
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Mock
+    private TimelineService timelineService;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 게시물 ID -> 점수 (ID 가 작을수록 높음)
+    private final Map<Long, Double> scores = Map.of(1L, 5.0, 2L, 4.0, 3L, 3.0, 4L, 2.0, 5L, 1.0);
+
+    private FeedRankingPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        FeedScorer scorer = candidate -> scores.get(candidate.getPost().getId());
+        pipeline = new FeedRankingPipeline(timelineService, postRepository, likeRepository, List.of(scorer), meterRegistry);
+        ReflectionTestUtils.setField(pipeline, "candidateLimit", 5);
+        ReflectionTestUtils.setField(pipeline, "budgetMs", 10_000L);
+        ReflectionTestUtils.setField(pipeline, "maxConsecutivePerAuthor", 2);
+
+        // 최신순 후보: 1 ~ 3 은 작성자 10, 4 ~ 5 는 작성자 20
+        User first = user(10L);
+        User second = user(20L);
+        List<Post> posts = List.of(post(1L, first), post(2L, first), post(3L, first), post(4L, second), post(5L, second));
+
+        given(timelineService.getPostIds(eq(VIEWER_ID), any(Cursor.class), eq(5))).willReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        given(postRepository.findAllWithUserInOrder(anyList())).willCallRealMethod();
+        given(postRepository.findAllWithUserByIdIn(anyList())).willReturn(posts.reversed());
+    }
+
+    @Test
+    void 점수순으로_정렬하고_같은_작성자가_연달아_몰리지_않게_한다() {
+        given(likeRepository.countLikesByAuthor(eq(VIEWER_ID), anyList())).willReturn(List.of());
+
+        FeedRankingPipeline.RankedFeed feed = pipeline.rank(VIEWER_ID);
+
+        assertThat(feed.posts()).extracting(Post::getId).containsExactly(1L, 2L, 4L, 3L, 5L);
+        // 후보 구간의 끝은 점수와 무관하게 최신순 마지막 게시물
+        assertThat(feed.tail().getId()).isEqualTo(5L);
+        assertThat(feed.hasMore()).isTrue();
+    }
+
+    @Test
+    void 단계마다_소요_시간을_기록한다() {
+        given(likeRepository.countLikesByAuthor(eq(VIEWER_ID), anyList())).willReturn(List.of());
+
+        pipeline.rank(VIEWER_ID);
+
+        for (String stage : List.of("retrieve", "hydrate", "score", "diversify")) {
+            assertThat(meterRegistry.get("feed.ranking.stage").tag("stage", stage).timer().count()).isEqualTo(1);
+        }
+        assertThat(meterRegistry.get("feed.ranking").tag("result", "ranked").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("feed.ranking.budget.exceeded").counter()).isNull();
+    }
+
+    @Test
+    void 예산을_넘으면_최신순_후보를_그대로_반환하고_초과를_센다() {
+        ReflectionTestUtils.setField(pipeline, "budgetMs", -1L);
+
+        FeedRankingPipeline.RankedFeed feed = pipeline.rank(VIEWER_ID);
+
+        assertThat(feed.posts()).extracting(Post::getId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(meterRegistry.get("feed.ranking.budget.exceeded").tag("stage", "retrieve").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("feed.ranking").tag("result", "fallback").timer().count()).isEqualTo(1);
+        verifyNoInteractions(likeRepository);
+    }
+
+    private User user(Long id) {
+        User user = User.builder()
+                .username("user" + id)
+                .password("password")
+                .email("user" + id + "@example.com")
+                .name("user" + id)
+                .build();
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+
+    private Post post(Long id, User user) {
+        Post post = Post.builder()
+                .content("content " + id)
+                .user(user)
+                .build();
+        ReflectionTestUtils.setField(post, "id", id);
+        ReflectionTestUtils.setField(post, "createdAt", NOW.minusMinutes(id));
+        return post;
+    }
+}
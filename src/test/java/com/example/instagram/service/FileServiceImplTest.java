@@ -0,0 +1,131 @@
+package com.example.instagram.service;
+
+import com.example.instagram.exception.BusinessException;
+import com.example.instagram.repository.StoredFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FileServiceImplTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @Mock
+    private StoredFileRepository storedFileRepository;
+
+    @Mock
+    private ImageDerivativeService imageDerivativeService;
+
+    private FileServiceImpl fileService;
+
+    @BeforeEach
+    void setUp() {
+        fileService = new FileServiceImpl(storedFileRepository, imageDerivativeService);
+        ReflectionTestUtils.setField(fileService, "uploadDir", uploadDir.toString());
+    }
+
+    @Test
+    void 내용의_SHA_256_을_파일_이름으로_쓴다() throws Exception {
+        byte[] png = png(0xff0000);
+        given(storedFileRepository.findFileNameByHash(anyString())).willReturn(Optional.empty());
+
+        String fileName = fileService.store(fileService.stage(upload("a.PNG", png)));
+
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(png));
+        assertThat(fileName).isEqualTo(hash + ".png");
+        assertThat(Files.readAllBytes(uploadDir.resolve(fileName))).isEqualTo(png);
+        verify(storedFileRepository).acquire(hash, fileName, png.length);
+        verify(imageDerivativeService).submit(fileName);
+    }
+
+    @Test
+    void 같은_내용은_한_번만_저장하고_참조_수만_늘린다() throws Exception {
+        byte[] png = png(0x00ff00);
+        given(storedFileRepository.findFileNameByHash(anyString())).willReturn(Optional.empty());
+
+        String first = fileService.store(fileService.stage(upload("first.png", png)));
+        String second = fileService.store(fileService.stage(upload("second.png", png)));
+
+        assertThat(second).isEqualTo(first);
+        try (var files = Files.list(uploadDir)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(uploadDir.resolve(first));
+        }
+        assertThat(tempFiles()).isZero();
+        verify(storedFileRepository, times(2)).acquire(anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    void 이미_저장된_내용은_기존_파일_이름을_쓴다() throws Exception {
+        byte[] png = png(0x0000ff);
+        Files.write(uploadDir.resolve("existing.jpg"), png);
+        given(storedFileRepository.findFileNameByHash(anyString())).willReturn(Optional.of("existing.jpg"));
+
+        String fileName = fileService.store(fileService.stage(upload("again.png", png)));
+
+        assertThat(fileName).isEqualTo("existing.jpg");
+        assertThat(tempFiles()).isZero();
+    }
+
+    @Test
+    void 확장자만_이미지인_파일은_거부하고_임시_파일을_남기지_않는다() throws Exception {
+        byte[] text = "not an image".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> fileService.stage(upload("fake.png", text)))
+                .isInstanceOf(BusinessException.class);
+        assertThat(tempFiles()).isZero();
+    }
+
+    @Test
+    void 허용하지_않는_확장자는_거부한다() {
+        assertThatThrownBy(() -> fileService.stage(upload("script.svg", new byte[]{1, 2, 3})))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private MockMultipartFile upload(String name, byte[] content) {
+        return new MockMultipartFile("file", name, "image/png", content);
+    }
+
+    private long tempFiles() throws IOException {
+        Path temp = uploadDir.resolve(FileServiceImpl.TEMP_DIR);
+        if (!Files.exists(temp)) {
+            return 0;
+        }
+        try (var files = Files.list(temp)) {
+            return files.count();
+        }
+    }
+
+    private byte[] png(int rgb) throws IOException {
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, rgb);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.FollowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class FollowGraphTest {
+
+    @Mock
+    private FollowRepository followRepository;
+
+    private FollowGraph followGraph;
+
+    @BeforeEach
+    void setUp() {
+        followGraph = new FollowGraph(followRepository);
+        ReflectionTestUtils.setField(followGraph, "compactionThreshold", 1);
+    }
+
+    @Test
+    void 로딩한_간선에_변경분을_겹쳐_읽는다() {
+        load(edge(1, 1, 2), edge(2, 1, 3), edge(3, 2, 3));
+
+        followGraph.follow(1, 4);
+        followGraph.unfollow(1, 2);
+        followGraph.follow(3, 1);
+
+        assertThat(followGraph.following(1L)).containsExactly(3L, 4L);
+        assertThat(followGraph.followers(3L)).containsExactly(1L, 2L);
+        assertThat(followGraph.followers(1L)).containsExactly(3L);
+        assertThat(followGraph.followingCount(1L)).isEqualTo(2);
+        assertThat(followGraph.followerCount(2L)).isZero();
+        assertThat(followGraph.isFollowing(1L, 2L)).isFalse();
+        assertThat(followGraph.isFollowing(1L, 4L)).isTrue();
+    }
+
+    @Test
+    void 변경분을_합쳐도_결과가_같다() {
+        load(edge(1, 1, 2), edge(2, 1, 3), edge(3, 2, 3));
+        followGraph.follow(1, 4);
+        followGraph.unfollow(1, 2);
+        followGraph.follow(3, 1);
+        followGraph.follow(5, 3);
+
+        followGraph.compact();
+
+        assertThat(followGraph.following(1L)).containsExactly(3L, 4L);
+        assertThat(followGraph.following(5L)).containsExactly(3L);
+        assertThat(followGraph.followers(3L)).containsExactly(1L, 2L, 5L);
+        assertThat(followGraph.followers(2L)).isEmpty();
+        assertThat(followGraph.followingCount(1L)).isEqualTo(2);
+        assertThat(followGraph.usersWithFollowersAtLeast(3)).containsExactly(3L);
+    }
+
+    @Test
+    void 합친_뒤의_변경분도_다시_반영한다() {
+        load(edge(1, 1, 2), edge(2, 1, 3));
+        followGraph.follow(1, 4);
+        followGraph.compact();
+
+        followGraph.unfollow(1, 4);
+        followGraph.unfollow(1, 2);
+        followGraph.follow(1, 2);
+
+        assertThat(followGraph.following(1L)).containsExactly(2L, 3L);
+        assertThat(followGraph.followers(4L)).isEmpty();
+
+        followGraph.compact();
+
+        assertThat(followGraph.following(1L)).containsExactly(2L, 3L);
+        assertThat(followGraph.followingCount(1L)).isEqualTo(2);
+        assertThat(followGraph.followerCount(4L)).isZero();
+    }
+
+    @Test
+    void 로딩_중에_들어온_변경분은_유지한다() {
+        followGraph.follow(5, 1);
+
+        load(edge(1, 2, 1));
+
+        assertThat(followGraph.followers(1L)).containsExactly(2L, 5L);
+        assertThat(followGraph.usersWithFollowersAtLeast(2)).containsExactly(1L);
+    }
+
+    @Test
+    void 로딩_전에는_DB_로_조회한다() {
+        given(followRepository.existsByFollowerIdAndFollowingId(1L, 2L)).willReturn(true);
+
+        assertThat(followGraph.isFollowing(1L, 2L)).isTrue();
+
+        // 로딩 전에는 합치지 않는다
+        followGraph.compact();
+        verify(followRepository).existsByFollowerIdAndFollowingId(1L, 2L);
+        verifyNoMoreInteractions(followRepository);
+    }
+
+    private void load(Object[]... edges) {
+        Object[] last = edges[edges.length - 1];
+        given(followRepository.findEdgesAfter(eq(0L), any())).willReturn(List.of(edges));
+        given(followRepository.findEdgesAfter(eq((Long) last[0]), any())).willReturn(List.of());
+        followGraph.load();
+    }
+
+    private Object[] edge(long id, long followerId, long followingId) {
+        return new Object[]{id, followerId, followingId};
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.response.TrendingTagResponse;
+import com.example.instagram.repository.PostHashtagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class HashtagTrendsTest {
+
+    @Mock
+    private PostHashtagRepository postHashtagRepository;
+
+    private HashtagTrends hashtagTrends;
+
+    @BeforeEach
+    void setUp() {
+        hashtagTrends = new HashtagTrends(postHashtagRepository);
+    }
+
+    @Test
+    void 많이_쓰인_태그부터_반환한다() {
+        LocalDateTime now = LocalDateTime.now();
+        hashtagTrends.record(List.of("seoul", "food"), now);
+        hashtagTrends.record(List.of("seoul"), now);
+        hashtagTrends.record(List.of("travel"), now);
+        hashtagTrends.record(List.of("seoul", "travel"), now);
+
+        hashtagTrends.refresh();
+
+        assertThat(hashtagTrends.getTop(HashtagTrends.Period.HOUR, 10))
+                .extracting(TrendingTagResponse::getTag, TrendingTagResponse::getCount)
+                .containsExactly(
+                        tuple("seoul", 3L),
+                        tuple("travel", 2L),
+                        tuple("food", 1L));
+        assertThat(hashtagTrends.getTop(HashtagTrends.Period.HOUR, 1))
+                .extracting(TrendingTagResponse::getTag)
+                .containsExactly("seoul");
+    }
+
+    @Test
+    void 한_시간이_지난_태그는_24시간_창에만_남는다() {
+        hashtagTrends.record(List.of("old"), LocalDateTime.now().minusHours(2));
+        // 창보다 오래된 태그는 어디에도 들어가지 않는다
+        hashtagTrends.record(List.of("ancient"), LocalDateTime.now().minusDays(2));
+
+        hashtagTrends.refresh();
+
+        assertThat(hashtagTrends.getTop(HashtagTrends.Period.HOUR, 10)).isEmpty();
+        assertThat(hashtagTrends.getTop(HashtagTrends.Period.DAY, 10))
+                .extracting(TrendingTagResponse::getTag)
+                .containsExactly("old");
+    }
+
+    @Test
+    void 후보는_상위_K_개까지만_추적한다() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            hashtagTrends.record(List.of("hot"), now);
+        }
+        for (int i = 0; i < 100; i++) {
+            hashtagTrends.record(List.of("tag" + i), now);
+        }
+
+        hashtagTrends.refresh();
+
+        List<TrendingTagResponse> top = hashtagTrends.getTop(HashtagTrends.Period.DAY, 1_000);
+        assertThat(top).hasSize(50);
+        assertThat(top.get(0).getTag()).isEqualTo("hot");
+    }
+
+    @Test
+    void 기동_시_최근_24시간_태그로_채운다() {
+        LocalDateTime now = LocalDateTime.now();
+        given(postHashtagRepository.findTagsCreatedAfter(any())).willReturn(List.of(
+                new Object[]{"seoul", now},
+                new Object[]{"seoul", now.minusHours(3)},
+                new Object[]{"food", now}));
+
+        hashtagTrends.load();
+
+        assertThat(hashtagTrends.getTop(HashtagTrends.Period.HOUR, 10))
+                .extracting(TrendingTagResponse::getTag, TrendingTagResponse::getCount)
+                .containsExactly(
+                        tuple("food", 1L),
+                        tuple("seoul", 1L));
+        assertThat(hashtagTrends.getTop(HashtagTrends.Period.DAY, 10))
+                .extracting(TrendingTagResponse::getTag)
+                .containsExactly("seoul", "food");
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.instagram.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageDerivativeServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private ImageDerivativeService imageDerivativeService;
+
+    @AfterEach
+    void tearDown() {
+        imageDerivativeService.shutdown();
+    }
+
+    @Test
+    void 원본의_축소본을_모두_만든다() throws Exception {
+        imageDerivativeService = new ImageDerivativeService(uploadDir.toString(), 1, 10);
+        writeImage("photo.png", 400, 300);
+
+        imageDerivativeService.submit("photo.png");
+
+        awaitDerivatives("photo.png");
+        BufferedImage avatar = ImageIO.read(uploadDir.resolve(ImageVariant.AVATAR.fileName("photo.png")).toFile());
+        assertThat(avatar.getWidth()).isEqualTo(150);
+        assertThat(avatar.getHeight()).isEqualTo(150);
+        // 원본보다 크게 키우지 않음
+        BufferedImage feed = ImageIO.read(uploadDir.resolve(ImageVariant.FEED.fileName("photo.png")).toFile());
+        assertThat(feed.getWidth()).isEqualTo(400);
+        assertThat(feed.getHeight()).isEqualTo(300);
+    }
+
+    @Test
+    void 대기열이_가득_차_건너뛴_원본은_다시_넣으면_만든다() throws Exception {
+        // 작업자 하나, 대기열 하나: 세 번째 파일은 건너뜀
+        imageDerivativeService = new ImageDerivativeService(uploadDir.toString(), 1, 1);
+        for (String name : new String[]{"a.png", "b.png", "c.png"}) {
+            writeImage(name, 2000, 2000);
+        }
+
+        imageDerivativeService.submit("a.png");
+        imageDerivativeService.submit("b.png");
+        imageDerivativeService.submit("c.png");
+        awaitDerivatives("a.png");
+        awaitDerivatives("b.png");
+
+        // 원본 요청 때처럼 다시 넣음
+        imageDerivativeService.submit("c.png");
+        awaitDerivatives("c.png");
+    }
+
+    private void writeImage(String name, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ImageIO.write(image, "png", uploadDir.resolve(name).toFile());
+    }
+
+    private void awaitDerivatives(String fileName) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            boolean ready = true;
+            for (ImageVariant variant : ImageVariant.values()) {
+                ready &= Files.exists(uploadDir.resolve(variant.fileName(fileName)));
+            }
+            if (ready) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("축소본이 만들어지지 않음: " + fileName);
+    }
+}
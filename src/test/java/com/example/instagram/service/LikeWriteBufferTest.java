@@ -0,0 +1,194 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.LikeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LikeWriteBufferTest {
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // post_likes 테이블 흉내 (post_id, user_id)
+    private final Set<List<Long>> table = ConcurrentHashMap.newKeySet();
+
+    private LikeWriteBuffer likeWriteBuffer;
+
+    @BeforeEach
+    void setUp() {
+        likeWriteBuffer = new LikeWriteBuffer(likeRepository, jdbcTemplate, transactionTemplate, meterRegistry);
+
+        given(likeRepository.existsByPostIdAndUserId(anyLong(), anyLong()))
+                .willAnswer(invocation -> table.contains(List.of(
+                        invocation.<Long>getArgument(0), invocation.<Long>getArgument(1))));
+        willAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+        given(jdbcTemplate.batchUpdate(anyString(), anyList())).willAnswer(write());
+    }
+
+    @Test
+    void 반영에_실패하면_대기_목록으로_되돌려_다음_주기에_다시_쓴다() {
+        given(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .willThrow(new DataAccessResourceFailureException("connection refused"))
+                .willAnswer(write());
+
+        assertThat(likeWriteBuffer.toggle(1L, 10L)).isTrue();
+
+        likeWriteBuffer.flush();
+
+        assertThat(table).isEmpty();
+        assertThat(likeWriteBuffer.pendingState(1L, 10L)).isTrue();
+        assertThat(queueDepth()).isEqualTo(1);
+
+        likeWriteBuffer.flush();
+
+        assertThat(table).containsExactly(List.of(1L, 10L));
+        assertThat(likeWriteBuffer.pendingState(1L, 10L)).isNull();
+        assertThat(queueDepth()).isZero();
+    }
+
+    @Test
+    void 실패한_반영보다_그_사이의_토글이_우선한다() {
+        assertThat(likeWriteBuffer.toggle(1L, 10L)).isTrue();
+
+        // 반영 도중에 취소 토글이 들어온 뒤 반영이 실패
+        given(jdbcTemplate.batchUpdate(anyString(), anyList())).willAnswer(invocation -> {
+            assertThat(likeWriteBuffer.toggle(1L, 10L)).isFalse();
+            throw new DataAccessResourceFailureException("connection refused");
+        }).willAnswer(write());
+
+        likeWriteBuffer.flush();
+
+        // 되돌린 결과가 DB 상태(좋아요 없음)와 같으므로 다시 쓸 것이 없다
+        assertThat(likeWriteBuffer.pendingState(1L, 10L)).isNull();
+        assertThat(queueDepth()).isZero();
+
+        likeWriteBuffer.flush();
+
+        assertThat(table).isEmpty();
+        assertThat(likeWriteBuffer.toggle(1L, 10L)).isTrue();
+    }
+
+    @Test
+    void 반복_토글은_최종_상태_하나로_합친다() {
+        likeWriteBuffer.toggle(1L, 10L);
+        likeWriteBuffer.toggle(1L, 10L);
+        likeWriteBuffer.toggle(1L, 10L);
+        assertThat(likeWriteBuffer.set(2L, 10L, true)).isTrue();
+        assertThat(likeWriteBuffer.set(2L, 10L, true)).isFalse();
+
+        likeWriteBuffer.flush();
+
+        assertThat(table).containsExactlyInAnyOrder(List.of(1L, 10L), List.of(2L, 10L));
+        assertThat(likeWriteBuffer.set(2L, 10L, true)).isFalse();
+        assertThat(likeWriteBuffer.set(2L, 10L, false)).isTrue();
+    }
+
+    @Test
+    void flush_와_겹친_토글도_상태_변화가_DB_와_어긋나지_않는다() throws Exception {
+        // DB 조회 중에 flush 가 끼어들 틈을 넓힌다
+        given(likeRepository.existsByPostIdAndUserId(anyLong(), anyLong())).willAnswer(invocation -> {
+            Thread.yield();
+            return table.contains(List.of(invocation.<Long>getArgument(0), invocation.<Long>getArgument(1)));
+        });
+
+        int users = 4;
+        int togglesPerThread = 2_000;
+        AtomicLong[] deltas = new AtomicLong[users];
+        for (int i = 0; i < users; i++) {
+            deltas[i] = new AtomicLong();
+        }
+
+        AtomicBoolean done = new AtomicBoolean();
+        Thread flusher = Thread.ofPlatform().start(() -> {
+            while (!done.get()) {
+                likeWriteBuffer.flush();
+            }
+        });
+
+        // 스레드 둘씩 같은 사용자를 토글 (토글마다 +1/-1 을 더하면 최종 상태와 같아야 한다)
+        List<Thread> togglers = new ArrayList<>();
+        for (int t = 0; t < users * 2; t++) {
+            long userId = t % users;
+            togglers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < togglesPerThread; i++) {
+                    boolean liked = likeWriteBuffer.toggle(1L, userId);
+                    deltas[(int) userId].addAndGet(liked ? 1 : -1);
+                }
+            }));
+        }
+        for (Thread toggler : togglers) {
+            toggler.join();
+        }
+        done.set(true);
+        flusher.join();
+        likeWriteBuffer.flush();
+
+        for (int userId = 0; userId < users; userId++) {
+            long delta = deltas[userId].get();
+            assertThat(delta).isBetween(0L, 1L);
+            assertThat(table.contains(List.of(1L, (long) userId))).isEqualTo(delta == 1);
+            assertThat(likeWriteBuffer.pendingState(1L, (long) userId)).isNull();
+        }
+    }
+
+    // INSERT IGNORE / DELETE 배치를 테이블에 적용
+    private Answer<int[]> write() {
+        return invocation -> {
+            String sql = invocation.getArgument(0);
+            List<Object[]> rows = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                List<Long> key = List.of((Long) row[0], (Long) row[1]);
+                if (sql.startsWith("INSERT")) {
+                    table.add(key);
+                } else {
+                    table.remove(key);
+                }
+            }
+            return new int[rows.size()];
+        };
+    }
+
+    private double queueDepth() {
+        return meterRegistry.get("likes.buffer.queue.depth").gauge().value();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.instagram.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LikerBitmapTest {
+
+    @Test
+    void 추가_삭제_포함_여부() {
+        LikerBitmap bitmap = new LikerBitmap();
+
+        assertThat(bitmap.add(7)).isTrue();
+        assertThat(bitmap.add(7)).isFalse();
+        assertThat(bitmap.add(70_000)).isTrue();
+
+        assertThat(bitmap.contains(7)).isTrue();
+        assertThat(bitmap.contains(70_000)).isTrue();
+        assertThat(bitmap.contains(8)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(2);
+
+        assertThat(bitmap.remove(7)).isTrue();
+        assertThat(bitmap.remove(7)).isFalse();
+        assertThat(bitmap.contains(7)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(1);
+    }
+
+    @Test
+    void 원소가_많아지면_비트_묶음으로_바뀌고_줄면_다시_배열로_돌아온다() {
+        LikerBitmap bitmap = new LikerBitmap();
+        for (long id = 0; id < 10_000; id += 2) {
+            bitmap.add(id);
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(5_000);
+        assertThat(bitmap.contains(9_998)).isTrue();
+        assertThat(bitmap.contains(9_999)).isFalse();
+
+        for (long id = 0; id < 10_000; id += 4) {
+            bitmap.remove(id);
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(2_500);
+        assertThat(bitmap.contains(2)).isTrue();
+        assertThat(bitmap.contains(4)).isFalse();
+    }
+
+    @Test
+    void 정렬된_ID_목록과_교집합() {
+        LikerBitmap bitmap = new LikerBitmap();
+        bitmap.add(3);
+        bitmap.add(65_540);
+        bitmap.add(200_000);
+
+        long[] following = {1, 3, 5, 65_540, 100_000, 200_000};
+
+        assertThat(bitmap.intersect(following, 10)).containsExactly(3L, 65_540L, 200_000L);
+        assertThat(bitmap.intersect(following, 2)).containsExactly(3L, 65_540L);
+    }
+
+    @Test
+    void 범위를_벗어난_ID는_담을_수_없다() {
+        LikerBitmap bitmap = new LikerBitmap();
+
+        assertThatThrownBy(() -> bitmap.add(LikerBitmap.MAX_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(bitmap.contains(-1)).isFalse();
+    }
+}
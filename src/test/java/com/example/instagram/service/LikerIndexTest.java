@@ -0,0 +1,75 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.LikeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LikerIndexTest {
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private LikeWriteBuffer likeWriteBuffer;
+
+    @Mock
+    private FollowGraph followGraph;
+
+    private LikerIndex likerIndex;
+
+    @BeforeEach
+    void setUp() {
+        likerIndex = new LikerIndex(likeRepository, likeWriteBuffer, followGraph);
+    }
+
+    @Test
+    void 처음_조회할_때_DB_행_위에_버퍼의_미반영_상태를_덮어쓴다() {
+        given(likeWriteBuffer.pendingStates(1L)).willReturn(Map.of(10L, false, 30L, true));
+        given(likeRepository.findUserIdsByPostId(1L)).willReturn(List.of(10L, 20L));
+
+        assertThat(likerIndex.isLiked(1L, 10L)).isFalse();
+        assertThat(likerIndex.isLiked(1L, 20L)).isTrue();
+        assertThat(likerIndex.isLiked(1L, 30L)).isTrue();
+        // 한 번만 로드
+        verify(likeRepository, times(1)).findUserIdsByPostId(1L);
+    }
+
+    @Test
+    void 로드_도중의_변경도_빠지지_않는다() {
+        given(likeWriteBuffer.pendingStates(1L)).willReturn(Map.of());
+        // DB 를 읽는 사이 토글이 들어오고 flush 까지 끝나 버퍼에도 남지 않은 상황
+        given(likeRepository.findUserIdsByPostId(1L)).willAnswer(invocation -> {
+            likerIndex.apply(1L, 10L, false);
+            likerIndex.apply(1L, 30L, true);
+            return List.of(10L, 20L);
+        });
+
+        assertThat(likerIndex.isLiked(1L, 10L)).isFalse();
+        assertThat(likerIndex.isLiked(1L, 20L)).isTrue();
+        assertThat(likerIndex.isLiked(1L, 30L)).isTrue();
+    }
+
+    @Test
+    void 올라온_게시물은_토글을_바로_반영하고_올라오지_않은_게시물은_무시한다() {
+        likerIndex.apply(1L, 10L, true);
+
+        given(likeWriteBuffer.pendingStates(1L)).willReturn(Map.of());
+        given(likeRepository.findUserIdsByPostId(1L)).willReturn(List.of());
+        assertThat(likerIndex.isLiked(1L, 10L)).isFalse();
+
+        likerIndex.apply(1L, 10L, true);
+        assertThat(likerIndex.isLiked(1L, 10L)).isTrue();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.instagram.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class MediaStoreTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @TempDir
+    Path uploadDir;
+
+    @Mock
+    private ImageDerivativeService imageDerivativeService;
+
+    private MediaStore mediaStore;
+
+    @BeforeEach
+    void setUp() {
+        MediaCache mediaCache = new MediaCache(1024 * 1024, 1024, new SimpleMeterRegistry());
+        mediaStore = new MediaStore(mediaCache, imageDerivativeService);
+        ReflectionTestUtils.setField(mediaStore, "uploadDir", uploadDir.toString());
+    }
+
+    @Test
+    void 축소본이_없으면_원본으로_응답하고_축소본_생성을_다시_요청한다() throws Exception {
+        Files.write(uploadDir.resolve(HASH + ".png"), new byte[]{1, 2, 3});
+
+        Optional<MediaStore.Media> media = mediaStore.find(HASH + "-feed.jpg");
+
+        assertThat(media).isPresent();
+        assertThat(media.get().cacheControl().getHeaderValue()).contains("max-age=60");
+        verify(imageDerivativeService).submit(HASH + ".png");
+    }
+
+    @Test
+    void 축소본이_있으면_생성을_요청하지_않는다() throws Exception {
+        Files.write(uploadDir.resolve(HASH + "-feed.jpg"), new byte[]{1, 2, 3});
+
+        Optional<MediaStore.Media> media = mediaStore.find(HASH + "-feed.jpg");
+
+        assertThat(media).isPresent();
+        assertThat(media.get().cacheControl().getHeaderValue()).contains("immutable");
+        verifyNoInteractions(imageDerivativeService);
+    }
+
+    @Test
+    void 원본도_없으면_찾지_못한다() throws Exception {
+        assertThat(mediaStore.find(HASH + "-feed.jpg")).isEmpty();
+        verifyNoInteractions(imageDerivativeService);
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.PostCounters;
+import com.example.instagram.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class PostCounterCacheTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    // posts 테이블 흉내 (id -> {like_count, comment_count})
+    private final Map<Long, long[]> table = new ConcurrentHashMap<>();
+
+    // 저장된 배치 (like 증감, comment 증감, post_id)
+    private final List<Object[]> persisted = new ArrayList<>();
+
+    private PostCounterCache postCounterCache;
+
+    @BeforeEach
+    void setUp() {
+        postCounterCache = new PostCounterCache(postRepository, jdbcTemplate);
+        ReflectionTestUtils.setField(postCounterCache, "idleEvictMs", 600_000L);
+
+        lenient().when(postRepository.findCountersByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .filter(table::containsKey)
+                    .map(id -> counters(id, table.get(id)))
+                    .toList();
+        });
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> args = invocation.getArgument(1);
+            for (Object[] row : args) {
+                long[] counts = table.get((Long) row[2]);
+                counts[0] += (long) row[0];
+                counts[1] += (long) row[1];
+            }
+            persisted.addAll(args);
+            return new int[args.size()];
+        });
+    }
+
+    @Test
+    void 처음_접근하면_DB_값에서_시작하고_증감을_더한다() {
+        table.put(1L, new long[]{3, 1});
+
+        postCounterCache.addLikes(1L, 2);
+        postCounterCache.addComments(1L, 1);
+
+        assertThat(postCounterCache.likeCount(1L)).isEqualTo(5);
+        assertThat(postCounterCache.commentCount(1L)).isEqualTo(2);
+        // 없는 게시물은 0
+        assertThat(postCounterCache.likeCount(2L)).isZero();
+    }
+
+    @Test
+    void 저장하면_미저장_증감만_더하고_다시_저장하지_않는다() {
+        table.put(1L, new long[]{3, 0});
+        postCounterCache.addLikes(1L, 2);
+
+        postCounterCache.persist();
+        postCounterCache.persist();
+
+        assertThat(persisted).hasSize(1);
+        assertThat(table.get(1L)[0]).isEqualTo(5);
+        assertThat(postCounterCache.likeCount(1L)).isEqualTo(5);
+    }
+
+    @Test
+    void 저장에_실패하면_다음_주기에_다시_저장한다() {
+        table.put(1L, new long[]{3, 0});
+        postCounterCache.addLikes(1L, 2);
+        given(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .willThrow(new DataAccessResourceFailureException("connection refused"))
+                .willAnswer(invocation -> {
+                    List<Object[]> args = invocation.getArgument(1);
+                    persisted.addAll(args);
+                    return new int[args.size()];
+                });
+
+        postCounterCache.persist();
+        assertThat(persisted).isEmpty();
+
+        postCounterCache.persist();
+        assertThat(persisted).hasSize(1);
+        assertThat(persisted.get(0)).containsExactly(2L, 0L, 1L);
+    }
+
+    @Test
+    void 한_페이지를_한번에_읽고_있는_게시물은_다시_읽지_않는다() {
+        table.put(1L, new long[]{3, 0});
+        table.put(2L, new long[]{0, 5});
+
+        postCounterCache.preload(List.of(1L, 2L, 3L));
+        postCounterCache.preload(List.of(1L, 2L, 3L));
+
+        assertThat(postCounterCache.likeCount(1L)).isEqualTo(3);
+        assertThat(postCounterCache.commentCount(2L)).isEqualTo(5);
+        assertThat(postCounterCache.likeCount(3L)).isZero();
+        verify(postRepository).findCountersByIdIn(List.of(1L, 2L, 3L));
+        verifyNoMoreInteractions(postRepository);
+    }
+
+    @Test
+    void 재계산은_미저장_증감을_먼저_저장하고_그_사이의_증감은_새_값에_옮긴다() {
+        table.put(1L, new long[]{3, 0});
+        postCounterCache.addLikes(1L, 1);
+
+        postCounterCache.recount(() -> {
+            // 재계산 전에 미저장 증감이 저장되어 있다
+            assertThat(table.get(1L)[0]).isEqualTo(4);
+
+            // 재계산 도중에 들어온 좋아요 (아직 행 수에 없음)
+            postCounterCache.addLikes(1L, 1);
+            table.get(1L)[0] = 6;
+            return List.of(1L);
+        });
+
+        // 재계산한 값 + 그 사이의 증감
+        assertThat(postCounterCache.likeCount(1L)).isEqualTo(7);
+
+        persisted.clear();
+        postCounterCache.persist();
+        assertThat(persisted).hasSize(1);
+        assertThat(persisted.get(0)).containsExactly(1L, 0L, 1L);
+        assertThat(table.get(1L)[0]).isEqualTo(7);
+    }
+
+    @Test
+    void 다시_계산하지_않은_게시물은_그대로_둔다() {
+        table.put(1L, new long[]{3, 0});
+        table.put(2L, new long[]{1, 0});
+        postCounterCache.likeCount(1L);
+        postCounterCache.likeCount(2L);
+
+        postCounterCache.recount(() -> {
+            table.get(1L)[0] = 10;
+            table.get(2L)[0] = 10;
+            return List.of(1L);
+        });
+
+        assertThat(postCounterCache.likeCount(1L)).isEqualTo(10);
+        assertThat(postCounterCache.likeCount(2L)).isEqualTo(1);
+    }
+
+    private PostCounters counters(Long id, long[] counts) {
+        long likeCount = counts[0];
+        long commentCount = counts[1];
+        return new PostCounters() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return LocalDateTime.now();
+            }
+
+            @Override
+            public long getLikeCount() {
+                return likeCount;
+            }
+
+            @Override
+            public long getCommentCount() {
+                return commentCount;
+            }
+        };
+    }
+}
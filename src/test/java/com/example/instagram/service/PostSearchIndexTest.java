@@ -0,0 +1,74 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class PostSearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Mock
+    private PostRepository postRepository;
+
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        postSearchIndex = new PostSearchIndex(postRepository);
+    }
+
+    @Test
+    void 접두어로_시작하는_단어를_찾는다() {
+        postSearchIndex.index(1L, "instagram clone", NOW);
+        postSearchIndex.index(2L, "install guide", NOW);
+        postSearchIndex.index(3L, "photo", NOW);
+
+        assertThat(postSearchIndex.search("inst", 0, 10)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void 확장_한도를_넘으면_사전순이_아니라_게시물이_많은_단어를_남긴다() {
+        // 사전순으로 앞서는 드문 단어 70개 (게시물 하나씩)
+        for (int i = 0; i < 70; i++) {
+            postSearchIndex.index(100L + i, "cata" + String.format("%02d", i), NOW);
+        }
+        // 사전순으로 뒤지만 게시물이 많은 단어
+        postSearchIndex.index(1L, "catz", NOW);
+        postSearchIndex.index(2L, "catz", NOW);
+        postSearchIndex.index(3L, "catz", NOW);
+        // 검색어와 같은 단어는 항상 포함
+        postSearchIndex.index(4L, "cat", NOW);
+
+        assertThat(postSearchIndex.search("cat", 0, 100))
+                .contains(1L, 2L, 3L, 4L)
+                .hasSize(4 + 64 - 1);
+    }
+
+    @Test
+    void 짧은_검색어는_같은_단어만_찾는다() {
+        postSearchIndex.index(1L, "go", NOW);
+        postSearchIndex.index(2L, "google", NOW);
+
+        assertThat(postSearchIndex.search("go", 0, 10)).containsExactly(1L);
+        assertThat(postSearchIndex.search("goo", 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void 모든_검색어를_포함한_게시물만_찾는다() {
+        postSearchIndex.index(1L, "seoul travel photo", NOW);
+        postSearchIndex.index(2L, "seoul food", NOW);
+
+        assertThat(postSearchIndex.search("seoul photo", 0, 10)).containsExactly(1L);
+        assertThat(postSearchIndex.searchBefore("seoul", NOW.plusSeconds(1), Long.MAX_VALUE, 10))
+                .containsExactly(2L, 1L);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.response.PostResponse;
+import com.example.instagram.entity.Post;
+import com.example.instagram.entity.User;
+import com.example.instagram.repository.LikeRepository;
+import com.example.instagram.repository.PostCounters;
+import com.example.instagram.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class PostStatsHydratorTest {
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private LikeWriteBuffer likeWriteBuffer;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PostCounterCache postCounterCache;
+
+    private PostStatsHydrator postStatsHydrator;
+
+    @BeforeEach
+    void setUp() {
+        postCounterCache = new PostCounterCache(postRepository, jdbcTemplate);
+        postStatsHydrator = new PostStatsHydrator(likeRepository, likeWriteBuffer, postCounterCache);
+    }
+
+    @Test
+    void 한_페이지를_게시물_수와_무관하게_쿼리_두번으로_채운다() {
+        List<Post> posts = posts(12);
+        given(postRepository.findCountersByIdIn(anyCollection())).willReturn(List.of());
+        given(likeRepository.findLikedPostIds(eq(7L), anyCollection())).willReturn(List.of());
+
+        List<PostResponse> responses = postStatsHydrator.hydrate(posts, 7L);
+
+        assertThat(responses).hasSize(12);
+        // 카운터는 캐시에 없는 게시물만 IN 조회 한 번, 좋아요 여부도 IN 조회 한 번 (게시물별 COUNT 없음)
+        verify(postRepository, times(1)).findCountersByIdIn(anyCollection());
+        verify(likeRepository, times(1)).findLikedPostIds(eq(7L), anyCollection());
+        verify(likeRepository, never()).countByPostId(anyLong());
+        verify(likeRepository, never()).countByPostIdIn(anyCollection());
+        verifyNoMoreInteractions(likeRepository, postRepository);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void 캐시에_있는_게시물은_다시_읽지_않는다() {
+        List<Post> posts = posts(12);
+        given(postRepository.findCountersByIdIn(anyCollection())).willReturn(List.of());
+
+        postStatsHydrator.hydrate(posts.subList(0, 6), null);
+        postStatsHydrator.hydrate(posts, null);
+
+        verify(postRepository).findCountersByIdIn(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+        verify(postRepository).findCountersByIdIn(List.of(7L, 8L, 9L, 10L, 11L, 12L));
+        verifyNoMoreInteractions(postRepository);
+    }
+
+    @Test
+    void 캐시에_없는_게시물은_DB_에_저장된_카운터로_채운다() {
+        List<Post> posts = posts(12);
+        // 조회한 게시물 행의 값이 낡았어도 카운터는 DB 에서 읽은 값을 쓴다
+        ReflectionTestUtils.setField(posts.get(0), "likeCount", 1L);
+        given(postRepository.findCountersByIdIn(anyCollection()))
+                .willReturn(List.of(counters(1L, 3, 0), counters(2L, 0, 5)));
+
+        List<PostResponse> responses = postStatsHydrator.hydrate(posts, null);
+
+        assertThat(responses).hasSize(12);
+        assertThat(responses.get(0).getLikeCount()).isEqualTo(3);
+        assertThat(responses.get(0).getCommentCount()).isZero();
+        assertThat(responses.get(1).getCommentCount()).isEqualTo(5);
+        assertThat(responses.get(1).getLikeCount()).isZero();
+        verifyNoInteractions(likeRepository);
+    }
+
+    @Test
+    void 아직_저장되지_않은_증감도_목록에_반영한다() {
+        List<Post> posts = posts(2);
+        given(postRepository.findCountersByIdIn(List.of(1L))).willReturn(List.of(counters(1L, 3, 0)));
+        given(postRepository.findCountersByIdIn(List.of(2L))).willReturn(List.of());
+        postCounterCache.addLikes(1L, 1);
+
+        List<PostResponse> responses = postStatsHydrator.hydrate(posts, null);
+
+        // 상세 화면, 좋아요 API 와 같은 값
+        assertThat(responses.get(0).getLikeCount()).isEqualTo(4);
+        assertThat(responses.get(0).getLikeCount()).isEqualTo(postCounterCache.likeCount(1L));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void 좋아요_여부는_페이지_전체를_한번에_조회한다() {
+        List<Post> posts = posts(12);
+        given(likeRepository.findLikedPostIds(eq(7L), anyCollection())).willReturn(List.of(2L, 5L));
+
+        List<PostResponse> responses = postStatsHydrator.hydrate(posts, 7L);
+
+        verify(likeRepository, times(1)).findLikedPostIds(eq(7L), anyCollection());
+        verify(likeRepository, never()).existsByPostIdAndUserId(anyLong(), anyLong());
+
+        assertThat(responses)
+                .filteredOn(PostResponse::isLiked)
+                .extracting(PostResponse::getId)
+                .containsExactly(2L, 5L);
+    }
+
+    @Test
+    void 빈_페이지는_쿼리하지_않는다() {
+        assertThat(postStatsHydrator.hydrate(List.of(), 7L)).isEmpty();
+
+        verifyNoInteractions(likeRepository, postRepository);
+    }
+
+    private List<Post> posts(int size) {
+        User user = User.builder()
+                .username("tester")
+                .password("password")
+                .email("tester@example.com")
+                .name("tester")
+                .build();
+        ReflectionTestUtils.setField(user, "id", 1L);
+
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> {
+                    Post post = Post.builder()
+                            .content("content " + id)
+                            .user(user)
+                            .build();
+                    ReflectionTestUtils.setField(post, "id", id);
+                    return post;
+                })
+                .toList();
+    }
+
+    private PostCounters counters(Long id, long likeCount, long commentCount) {
+        return new PostCounters() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return LocalDateTime.now();
+            }
+
+            @Override
+            public long getLikeCount() {
+                return likeCount;
+            }
+
+            @Override
+            public long getCommentCount() {
+                return commentCount;
+            }
+        };
+    }
+}
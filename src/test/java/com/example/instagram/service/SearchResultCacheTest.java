@@ -0,0 +1,106 @@
+package com.example.instagram.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SearchResultCache cache = new SearchResultCache(2, 60_000, meterRegistry);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void 같은_검색어는_정규화해서_한_번만_조회한다() {
+        assertThat(search(SearchResultCache.Type.POSTS, "Seoul  Food")).isEqualTo(List.of(1L));
+        assertThat(search(SearchResultCache.Type.POSTS, " seoul food ")).isEqualTo(List.of(1L));
+
+        assertThat(loads).hasValue(1);
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void 새_게시물과_일치하는_검색어만_지운다() {
+        search(SearchResultCache.Type.POSTS, "insta");
+        search(SearchResultCache.Type.POSTS, "travel");
+
+        cache.invalidatePosts("My Instagram photo");
+
+        search(SearchResultCache.Type.POSTS, "insta");
+        search(SearchResultCache.Type.POSTS, "travel");
+        // insta 만 다시 조회
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void 프로필_변경_전후_이름과_일치하는_검색어를_지운다() {
+        search(SearchResultCache.Type.USERS, "kim");
+        search(SearchResultCache.Type.USERS, "lee");
+
+        cache.invalidateUsers("user1", "Kim", "Park");
+
+        search(SearchResultCache.Type.USERS, "kim");
+        search(SearchResultCache.Type.USERS, "lee");
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void 조회하는_동안_무효화되면_결과를_저장하지_않는다() {
+        cache.get(SearchResultCache.Type.POSTS, "insta", "first", () -> {
+            loads.incrementAndGet();
+            // 조회 도중에 커밋된 게시물
+            cache.invalidatePosts("instagram");
+            return List.of(1L);
+        });
+
+        search(SearchResultCache.Type.POSTS, "insta");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void 최대_개수를_넘으면_가장_오래_안_쓴_항목부터_버린다() {
+        search(SearchResultCache.Type.POSTS, "a");
+        search(SearchResultCache.Type.POSTS, "b");
+        search(SearchResultCache.Type.POSTS, "a");
+        search(SearchResultCache.Type.POSTS, "c");
+
+        // b 가 밀려남
+        search(SearchResultCache.Type.POSTS, "a");
+        search(SearchResultCache.Type.POSTS, "b");
+        assertThat(loads).hasValue(4);
+        assertThat(meterRegistry.get("search.cache.evictions").tag("cause", "size").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void TTL_이_지난_항목은_다시_조회한다() {
+        SearchResultCache expiring = new SearchResultCache(10, 0, meterRegistry);
+
+        expiring.get(SearchResultCache.Type.POSTS, "insta", "first", this::load);
+        expiring.get(SearchResultCache.Type.POSTS, "insta", "first", this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("search.cache.evictions").tag("cause", "expired").counter().count())
+                .isEqualTo(1);
+    }
+
+    private List<Long> search(SearchResultCache.Type type, String query) {
+        return cache.get(type, query, "first", this::load);
+    }
+
+    private List<Long> load() {
+        loads.incrementAndGet();
+        return List.of(1L);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("search.cache.requests").tag("type", "posts").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.instagram.service;
+
+import com.example.instagram.dto.request.Cursor;
+import com.example.instagram.repository.FollowRepository;
+import com.example.instagram.repository.PostRepository;
+import com.example.instagram.repository.TimelineEntry;
+import com.example.instagram.repository.TimelineRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TimelineServiceImplTest {
+
+    private static final Long OWNER_ID = 1L;
+    private static final Long CELEBRITY_ID = 2L;
+
+    @Mock
+    private TimelineRepository timelineRepository;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CelebrityRegistry celebrityRegistry;
+
+    @Mock
+    private FollowGraph followGraph;
+
+    private TimelineServiceImpl timelineService;
+
+    @BeforeEach
+    void setUp() {
+        timelineService = new TimelineServiceImpl(
+                timelineRepository, followRepository, postRepository, celebrityRegistry, followGraph);
+    }
+
+    @Test
+    void 두_원본을_최신순으로_병합하고_중복은_한번만_낸다() {
+        // 8, 6 은 유명 계정으로 바뀌기 전에 push 된 게시물
+        pushed(9, 8, 6, 5);
+        pulled(8, 7, 6, 4);
+
+        assertThat(timelineService.getPostIds(OWNER_ID, Cursor.first(), 10))
+                .containsExactly(9L, 8L, 7L, 6L, 5L, 4L);
+    }
+
+    @Test
+    void 중복을_건너뛰고도_limit_개를_채운다() {
+        // 두 원본이 같은 게시물로만 이루어져 있어도 한 페이지(limit + 1)를 다 채워야 다음 페이지가 있다고 판단한다
+        pushed(6, 5, 4, 3, 2, 1);
+        pulled(6, 5, 4, 3, 2, 1);
+
+        assertThat(timelineService.getPostIds(OWNER_ID, Cursor.first(), 4))
+                .containsExactly(6L, 5L, 4L, 3L);
+    }
+
+    @Test
+    void 마지막_게시물_커서로_이어_읽으면_빠지거나_겹치는_게시물이_없다() {
+        pushed(9, 8, 6, 5, 3);
+        pulled(8, 7, 6, 4, 2, 1);
+
+        List<Long> first = timelineService.getPostIds(OWNER_ID, Cursor.first(), 4);
+        Long last = first.get(first.size() - 1);
+        List<Long> second = timelineService.getPostIds(OWNER_ID, new Cursor(createdAt(last), last), 10);
+
+        assertThat(first).containsExactly(9L, 8L, 7L, 6L);
+        assertThat(second).containsExactly(5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void 팔로우한_유명_계정이_없으면_타임라인만_읽는다() {
+        pushed(3, 2, 1);
+        given(celebrityRegistry.getCelebrityIds()).willReturn(Set.of(CELEBRITY_ID));
+        given(followGraph.following(OWNER_ID)).willReturn(new long[]{5L});
+
+        assertThat(timelineService.getPostIds(OWNER_ID, Cursor.first(), 10))
+                .containsExactly(3L, 2L, 1L);
+        verifyNoInteractions(postRepository);
+    }
+
+    private void pushed(long... postIds) {
+        given(timelineRepository.findEntriesBeforeCursor(eq(OWNER_ID), any(), any(), any()))
+                .willAnswer(before(postIds));
+    }
+
+    private void pulled(long... postIds) {
+        given(celebrityRegistry.getCelebrityIds()).willReturn(Set.of(CELEBRITY_ID));
+        given(followGraph.following(OWNER_ID)).willReturn(new long[]{CELEBRITY_ID, 3L});
+        given(postRepository.findFeedEntriesBeforeCursor(anyCollection(), any(), any(), any()))
+                .willAnswer(before(postIds));
+    }
+
+    // (작성 시각, ID) 커서 이후를 최신순으로 페이지 크기만큼 돌려주는 쿼리 흉내
+    private Answer<List<TimelineEntry>> before(long... postIds) {
+        List<TimelineEntry> entries = Arrays.stream(postIds)
+                .mapToObj(this::entry)
+                .toList();
+
+        return invocation -> {
+            LocalDateTime createdAt = invocation.getArgument(1);
+            Long id = invocation.getArgument(2);
+            Pageable pageable = invocation.getArgument(3);
+            return entries.stream()
+                    .filter(entry -> entry.getCreatedAt().isBefore(createdAt)
+                            || (entry.getCreatedAt().equals(createdAt) && entry.getPostId() < id))
+                    .limit(pageable.getPageSize())
+                    .toList();
+        };
+    }
+
+    private TimelineEntry entry(long postId) {
+        return new TimelineEntry() {
+            @Override
+            public Long getPostId() {
+                return postId;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt(postId);
+            }
+        };
+    }
+
+    private LocalDateTime createdAt(long postId) {
+        return LocalDateTime.of(2026, 1, 1, 0, 0).plusMinutes(postId);
+    }
+}
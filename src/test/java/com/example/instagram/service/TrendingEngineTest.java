@@ -0,0 +1,103 @@
+package com.example.instagram.service;
+
+import com.example.instagram.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingEngineTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    private TrendingEngine trendingEngine;
+
+    @BeforeEach
+    void setUp() {
+        trendingEngine = new TrendingEngine(postRepository);
+        ReflectionTestUtils.setField(trendingEngine, "halfLifeHours", 6.0);
+        ReflectionTestUtils.setField(trendingEngine, "topK", 10);
+        ReflectionTestUtils.setField(trendingEngine, "maxTracked", 100);
+        ReflectionTestUtils.setField(trendingEngine, "snapshotRetention", 2);
+    }
+
+    @Test
+    void 감쇠_기준_시각을_옮겨도_순위와_현재_점수는_그대로다() {
+        // 지수가 상한(50)을 넘을 만큼 오래된 기준 시각
+        long epoch = System.currentTimeMillis() - Duration.ofDays(30).toMillis();
+        ReflectionTestUtils.setField(trendingEngine, "epochMillis", epoch);
+        LocalDateTime now = LocalDateTime.now();
+
+        trendingEngine.onPostCreated(1L, now.minusHours(2));
+        trendingEngine.onLike(1L, 1);
+        trendingEngine.onPostCreated(2L, now);
+
+        trendingEngine.refresh();
+
+        assertThat((long) ReflectionTestUtils.getField(trendingEngine, "epochMillis")).isGreaterThan(epoch);
+        // 기준 시각이 지금이 되었으므로 저장값이 곧 현재 점수 (2시간 전 작성 = 반감기 6시간의 1/3 만큼 감쇠)
+        assertThat(score(2L)).isCloseTo(1.0, within(1e-3));
+        assertThat(score(1L)).isCloseTo(1.0 + Math.pow(0.5, 2.0 / 6), within(1e-3));
+        assertThat(trendingEngine.getRanking(0, 10)).containsExactly(1L, 2L);
+
+        // 옮긴 뒤의 점수도 같은 척도로 더해진다
+        trendingEngine.onLike(2L, 1);
+        trendingEngine.onLike(2L, 1);
+        trendingEngine.refresh();
+
+        assertThat(score(2L)).isCloseTo(3.0, within(1e-3));
+        assertThat(trendingEngine.getRanking(0, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void 트랜잭션_안의_작성은_커밋된_뒤에_반영한다() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            trendingEngine.onPostCreated(1L, LocalDateTime.now());
+            trendingEngine.refresh();
+            assertThat(trendingEngine.getRanking(0, 10)).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        trendingEngine.refresh();
+        assertThat(trendingEngine.getRanking(0, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void 밀려난_버전은_현재_순위로_대체하지_않는다() {
+        trendingEngine.onPostCreated(1L, LocalDateTime.now());
+        trendingEngine.refresh();
+        long expired = trendingEngine.currentSnapshot().version();
+
+        trendingEngine.refresh();
+        trendingEngine.refresh();
+
+        assertThat(trendingEngine.snapshot(expired)).isNull();
+        long latest = trendingEngine.currentSnapshot().version();
+        assertThat(trendingEngine.snapshot(latest)).isSameAs(trendingEngine.currentSnapshot());
+    }
+
+    @SuppressWarnings("unchecked")
+    private double score(Long postId) {
+        Map<Long, DoubleAdder> scores = (Map<Long, DoubleAdder>) ReflectionTestUtils.getField(trendingEngine, "scores");
+        return scores.get(postId).sum();
+    }
+}
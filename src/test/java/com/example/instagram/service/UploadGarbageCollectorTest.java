@@ -0,0 +1,173 @@
+package com.example.instagram.service;
+
+import com.example.instagram.entity.StoredFile;
+import com.example.instagram.repository.PostRepository;
+import com.example.instagram.repository.StoredFileRepository;
+import com.example.instagram.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UploadGarbageCollectorTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StoredFileRepository storedFileRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ImageDerivativeService imageDerivativeService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UploadGarbageCollector collector;
+
+    private byte[] png;
+    private String fileName;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        collector = new UploadGarbageCollector(postRepository, userRepository, storedFileRepository,
+                new MediaCache(1024 * 1024, 1024 * 1024, meterRegistry), transactionTemplate, meterRegistry,
+                uploadDir.toString(), 500, 60_000, Set.of("default-profile.png"));
+
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<long[]>>getArgument(0).doInTransaction(null));
+        given(postRepository.findImageUrlsIn(anyCollection())).willReturn(List.of());
+        given(userRepository.findProfileImageUrlsIn(anyCollection())).willReturn(List.of());
+
+        png = png();
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(png));
+        fileName = hash + ".png";
+        StoredFile storedFile = mock(StoredFile.class);
+        given(storedFile.getFileName()).willReturn(fileName);
+        given(storedFileRepository.lockByHashIn(anyCollection())).willReturn(List.of(storedFile));
+    }
+
+    @AfterEach
+    void tearDown() {
+        collector.closePass();
+    }
+
+    @Test
+    void 참조되지_않는_원본과_축소본을_지우고_확보한_용량을_센다() throws Exception {
+        writeOld(fileName, png);
+        writeOld(ImageVariant.FEED.fileName(fileName), new byte[10]);
+        writeOld("default-profile.png", new byte[10]);
+
+        collector.sweep();
+
+        assertThat(uploadDir.resolve(fileName)).doesNotExist();
+        assertThat(uploadDir.resolve(ImageVariant.FEED.fileName(fileName))).doesNotExist();
+        assertThat(uploadDir.resolve("default-profile.png")).exists();
+        verify(storedFileRepository).deleteByFileNameIn(List.of(fileName));
+        assertThat(meterRegistry.get("uploads.gc.deleted").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("uploads.gc.reclaimed").counter().count()).isEqualTo(png.length + 10);
+    }
+
+    @Test
+    void 잠금을_기다리는_동안_커밋된_재업로드는_지우지_않는다() throws Exception {
+        writeOld(fileName, png);
+        // 행 잠금을 얻었을 때는 같은 내용을 다시 올린 게시물이 커밋되어 있다
+        AtomicBoolean reuploaded = new AtomicBoolean();
+        given(storedFileRepository.lockByHashIn(anyCollection())).willAnswer(invocation -> {
+            reuploaded.set(true);
+            return List.of();
+        });
+        given(postRepository.findImageUrlsIn(anyCollection())).willAnswer(invocation ->
+                reuploaded.get() ? List.of("/uploads/" + fileName) : List.of());
+
+        collector.sweep();
+
+        assertThat(uploadDir.resolve(fileName)).exists();
+        verify(storedFileRepository, never()).deleteByFileNameIn(anyCollection());
+    }
+
+    @Test
+    void 정리가_먼저_끝나면_재업로드가_파일을_다시_쓴다() throws Exception {
+        writeOld(fileName, png);
+        collector.sweep();
+        assertThat(uploadDir.resolve(fileName)).doesNotExist();
+
+        // 정리 트랜잭션이 커밋된 뒤 acquire 가 새 행을 만들고, 파일이 없으므로 다시 저장
+        FileServiceImpl fileService = new FileServiceImpl(storedFileRepository, imageDerivativeService);
+        ReflectionTestUtils.setField(fileService, "uploadDir", uploadDir.toString());
+        given(storedFileRepository.findFileNameByHash(anyString())).willReturn(Optional.empty());
+
+        String stored = fileService.store(fileService.stage(new MockMultipartFile("file", "again.png", "image/png", png)));
+
+        assertThat(stored).isEqualTo(fileName);
+        assertThat(Files.readAllBytes(uploadDir.resolve(fileName))).isEqualTo(png);
+    }
+
+    @Test
+    void 유예_시간이_지나지_않은_파일은_건드리지_않는다() throws Exception {
+        Files.write(uploadDir.resolve(fileName), png);
+
+        collector.sweep();
+
+        assertThat(uploadDir.resolve(fileName)).exists();
+        verify(storedFileRepository, never()).lockByHashIn(anyCollection());
+    }
+
+    private void writeOld(String name, byte[] content) throws IOException {
+        Path path = uploadDir.resolve(name);
+        Files.write(path, content);
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(2, ChronoUnit.HOURS)));
+    }
+
+    private byte[] png() throws IOException {
+        BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}